@@ -7,15 +7,18 @@
 package org.hibernate.persister.common.internal;
 
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.hibernate.MappingException;
 
 /**
+ * NOTE : safe for concurrent use, the persisters may be initialized in parallel
+ * (see {@link DomainMetamodelImpl#PARALLEL_INITIALIZATION})
+ *
  * @author Steve Ebersole
  */
 public class DatabaseModel {
-	private final Map<String,PhysicalTable> tableMap = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+	private final Map<String,PhysicalTable> tableMap = new ConcurrentSkipListMap<>( String.CASE_INSENSITIVE_ORDER );
 
 	public PhysicalTable findPhysicalTable(String name) {
 		final PhysicalTable match = tableMap.get( name );
@@ -26,14 +29,7 @@ public class DatabaseModel {
 	}
 
 	public PhysicalTable findOrCreatePhysicalTable(String name) {
-		if ( tableMap.containsKey( name ) ) {
-			return tableMap.get( name );
-		}
-		else {
-			final PhysicalTable table = new PhysicalTable( name );
-			tableMap.put( name, table );
-			return table;
-		}
+		return tableMap.computeIfAbsent( name, PhysicalTable::new );
 	}
 
 	public DerivedTable createDerivedTable(String expression) {
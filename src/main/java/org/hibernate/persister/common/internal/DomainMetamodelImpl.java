@@ -8,12 +8,13 @@ package org.hibernate.persister.common.internal;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.collection.internal.ImprovedCollectionPersisterImpl;
 import org.hibernate.persister.collection.spi.ImprovedCollectionPersister;
@@ -39,13 +40,20 @@ import org.hibernate.type.Type;
  * @author Steve Ebersole
  */
 public class DomainMetamodelImpl implements DomainMetamodel {
+	/**
+	 * Setting to initialize the improved persisters in parallel (entity persisters per type
+	 * hierarchy, then the collection persisters) using the common ForkJoinPool; disabled by
+	 * default
+	 */
+	public static final String PARALLEL_INITIALIZATION = "hibernate.metamodel.parallel_initialization";
+
 	private final DatabaseModel databaseModel  = new DatabaseModel();
 	private final SessionFactoryImplementor sessionFactory;
 
 	private final Map<Class, BasicType> basicTypeMap;
 
 	private final Map<EntityPersister, ImprovedEntityPersisterImpl> entityTypeDescriptorMap;
-	private Map<String,PolymorphicEntityReferenceImpl> polymorphicEntityTypeDescriptorMap;
+	private final Map<String,PolymorphicEntityReferenceImpl> polymorphicEntityTypeDescriptorMap = new ConcurrentHashMap<>();
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// This section needs a bit of explanation...
@@ -68,6 +76,11 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 	//		2) finalize all ImprovedEntityPersister instances (side effect being creation of ImprovedCollectionPersister instances)
 	//		3) finalize all ImprovedCollectionPersister instances.
 	//
+	// Steps (2) and (3) can be performed in parallel (see PARALLEL_INITIALIZATION) : in (2) the
+	// type hierarchies are independent of each other and in (3) the collection persisters only
+	// depend on the (by then finalized) entity persisters.  The state they share (DatabaseModel,
+	// the tables and collectionPersisterMap) is safe for concurrent use.
+	//
 	// * - obviously a lot of this changes as we integrate this into ORM properly,  For example
 	// the improved persister contracts will just simply be part of the ORM persister contracts so
 	// no {persister}->{improved persister} mapping is needed.  Will need some thought on how to locate
@@ -76,14 +89,23 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 		this.sessionFactory = sessionFactory;
 		this.basicTypeMap = buildBasicTypeMaps();
 		this.entityTypeDescriptorMap = PersisterFactoryImpl.INSTANCE.getEntityPersisterMap();
-		PersisterFactoryImpl.INSTANCE.finishUp( databaseModel, this );
-		for ( ImprovedCollectionPersister improvedCollectionPersister : collectionPersisterMap.values() ) {
-			improvedCollectionPersister.finishInitialization( databaseModel, this );
+
+		final boolean parallel = ConfigurationHelper.getBoolean( PARALLEL_INITIALIZATION, sessionFactory.getProperties(), false );
+		PersisterFactoryImpl.INSTANCE.finishUp( databaseModel, this, parallel );
+		if ( parallel ) {
+			collectionPersisterMap.values().parallelStream().forEach(
+					improvedCollectionPersister -> improvedCollectionPersister.finishInitialization( databaseModel, this )
+			);
+		}
+		else {
+			for ( ImprovedCollectionPersister improvedCollectionPersister : collectionPersisterMap.values() ) {
+				improvedCollectionPersister.finishInitialization( databaseModel, this );
+			}
 		}
 	}
 
 	private static Map<Class, BasicType> buildBasicTypeMaps() {
-		final Map<Class,BasicType> map = new HashMap<>();
+		final Map<Class,BasicType> map = new ConcurrentHashMap<>();
 
 		for ( Field field : StandardBasicTypes.class.getDeclaredFields() ) {
 			if ( org.hibernate.type.BasicType.class.isAssignableFrom( field.getType() ) ) {
@@ -101,7 +123,7 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 		return map;
 	}
 
-	private Map<CollectionPersister, ImprovedCollectionPersister> collectionPersisterMap = new HashMap<>();
+	private Map<CollectionPersister, ImprovedCollectionPersister> collectionPersisterMap = new ConcurrentHashMap<>();
 
 	public void registerCollectionPersister(ImprovedCollectionPersisterImpl persister) {
 		collectionPersisterMap.put( persister.getPersister(), persister );
@@ -129,11 +151,9 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 		}
 
 		// look at existing polymorphic descriptors
-		if ( polymorphicEntityTypeDescriptorMap != null ) {
-			PolymorphicEntityReferenceImpl existingEntry = polymorphicEntityTypeDescriptorMap.get( entityName );
-			if ( existingEntry != null ) {
-				return existingEntry;
-			}
+		final PolymorphicEntityReferenceImpl existingEntry = polymorphicEntityTypeDescriptorMap.get( entityName );
+		if ( existingEntry != null ) {
+			return existingEntry;
 		}
 
 
@@ -143,22 +163,19 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 				return entityTypeDescriptorMap.get( sessionFactory.getMetamodel().entityPersister( implementors[0] ) );
 			}
 			else if ( implementors.length > 1 ) {
-				final List<ImprovedEntityPersister> implementDescriptors = new ArrayList<>();
-				for ( String implementor : implementors ) {
-					implementDescriptors.add(
-							entityTypeDescriptorMap.get( sessionFactory.getMetamodel().entityPersister( implementor ) )
-					);
-				}
-				if ( polymorphicEntityTypeDescriptorMap == null ) {
-					polymorphicEntityTypeDescriptorMap = new HashMap<>();
-				}
-				PolymorphicEntityReferenceImpl descriptor = new PolymorphicEntityReferenceImpl(
-						this,
+				// queries may be interpreted concurrently (e.g. named query warm up)
+				return polymorphicEntityTypeDescriptorMap.computeIfAbsent(
 						entityName,
-						implementDescriptors
+						name -> {
+							final List<ImprovedEntityPersister> implementDescriptors = new ArrayList<>();
+							for ( String implementor : implementors ) {
+								implementDescriptors.add(
+										entityTypeDescriptorMap.get( sessionFactory.getMetamodel().entityPersister( implementor ) )
+								);
+							}
+							return new PolymorphicEntityReferenceImpl( this, name, implementDescriptors );
+						}
 				);
-				polymorphicEntityTypeDescriptorMap.put( entityName, descriptor );
-				return descriptor;
 			}
 		}
 
@@ -213,12 +230,7 @@ public class DomainMetamodelImpl implements DomainMetamodel {
 	@Override
 	public BasicType resolveBasicType(Class javaType) {
 		// see if we've cached it so far...
-		BasicType basicType = basicTypeMap.get( javaType );
-		if ( basicType == null ) {
-			basicType = new BasicTypeNonOrmImpl( javaType );
-			basicTypeMap.put( javaType, basicType );
-		}
-		return basicType;
+		return basicTypeMap.computeIfAbsent( javaType, type -> new BasicTypeNonOrmImpl( type ) );
 	}
 
 	@Override
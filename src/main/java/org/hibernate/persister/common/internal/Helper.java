@@ -6,8 +6,10 @@
  */
 package org.hibernate.persister.common.internal;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,6 +25,7 @@ import org.hibernate.persister.common.spi.DomainReferenceImplementor;
 import org.hibernate.persister.embeddable.EmbeddablePersister;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.convert.spi.NotYetImplementedException;
 import org.hibernate.sqm.domain.PluralAttributeReference.CollectionClassification;
@@ -44,16 +47,18 @@ import org.hibernate.type.SortedSetType;
 import org.hibernate.type.Type;
 
 /**
- * For now mainly a helper for reflection into stuff not exposed on the entity/collection persister
+ * For now mainly a helper for access to stuff not exposed on the entity/collection persister
  * contracts
  *
  * @author Steve Ebersole
  */
 public class Helper {
-	private final Method subclassTableSpanMethod;
-	private final Method subclassPropertyTableNumberMethod;
-	private final Method subclassPropertyColumnsMethod;
-	private final Method subclassPropertyFormulasMethod;
+	private final MethodHandle subclassTableSpanHandle;
+	private final MethodHandle subclassPropertyTableNumberHandle;
+	private final MethodHandle subclassPropertyColumnsHandle;
+	private final MethodHandle subclassPropertyFormulasHandle;
+	private final MethodHandle subclassTableKeyColumnsHandle;
+	private final MethodHandle subclassTableJoinTypeHandle;
 
 	/**
 	 * Singleton access
@@ -62,93 +67,127 @@ public class Helper {
 
 	private Helper() {
 		try {
-			subclassTableSpanMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassTableSpan" );
-			subclassTableSpanMethod.setAccessible( true );
-
-			subclassPropertyTableNumberMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassPropertyTableNumber", int.class );
-			subclassPropertyTableNumberMethod.setAccessible( true );
-
-			subclassPropertyColumnsMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassPropertyColumnReaderClosure" );
-			subclassPropertyColumnsMethod.setAccessible( true );
-
-			subclassPropertyFormulasMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassPropertyFormulaTemplateClosure" );
-			subclassPropertyFormulasMethod.setAccessible( true );
+			subclassTableSpanHandle = unreflect( "getSubclassTableSpan" );
+			subclassPropertyTableNumberHandle = unreflect( "getSubclassPropertyTableNumber", int.class );
+			subclassPropertyColumnsHandle = unreflect( "getSubclassPropertyColumnReaderClosure" );
+			subclassPropertyFormulasHandle = unreflect( "getSubclassPropertyFormulaTemplateClosure" );
+			subclassTableKeyColumnsHandle = unreflect( "getSubclassTableKeyColumns", int.class );
+			subclassTableJoinTypeHandle = unreflect(
+					"determineSubclassTableJoinType",
+					int.class,
+					boolean.class,
+					boolean.class,
+					Set.class
+			);
 		}
 		catch (Exception e) {
-			throw new HibernateException( "Unable to initialize access to AbstractEntityPersister#getSubclassTableSpan", e );
+			throw new HibernateException( "Unable to initialize access to AbstractEntityPersister internals", e );
 		}
 	}
 
-	public int extractSubclassTableCount(EntityPersister persister) {
-		try {
-			return (Integer) subclassTableSpanMethod.invoke( persister );
-		}
-		catch (InvocationTargetException e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassTableSpan [" + persister.toString() + "]",
-					e.getTargetException()
-			);
-		}
-		catch (Exception e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassTableSpan [" + persister.toString() + "]",
-					e
-			);
-		}
+	private static MethodHandle unreflect(String methodName, Class... parameterTypes) throws Exception {
+		final Method method = AbstractEntityPersister.class.getDeclaredMethod( methodName, parameterTypes );
+		method.setAccessible( true );
+		return MethodHandles.lookup().unreflect( method );
 	}
 
-	public int getSubclassPropertyTableNumber(EntityPersister persister, int subclassPropertyNumber) {
-		try {
-			return (Integer) subclassPropertyTableNumberMethod.invoke( persister, subclassPropertyNumber );
+	/**
+	 * Snapshot of the AbstractEntityPersister internals (subclass table and property closures)
+	 * needed to build an ImprovedEntityPersister.  Extracted once per persister through
+	 * {@link #extractEntityPersisterInternals}.
+	 */
+	public static class EntityPersisterInternals {
+		private final int subclassTableCount;
+		private final boolean[] innerJoinableSubclassTables;
+		private final String[][] subclassTableKeyColumns;
+
+		private final int[] subclassPropertyTableNumbers;
+		private final String[][] subclassPropertyColumnExpressions;
+		private final String[][] subclassPropertyFormulaExpressions;
+
+		private EntityPersisterInternals(
+				int subclassTableCount,
+				boolean[] innerJoinableSubclassTables,
+				String[][] subclassTableKeyColumns,
+				int[] subclassPropertyTableNumbers,
+				String[][] subclassPropertyColumnExpressions,
+				String[][] subclassPropertyFormulaExpressions) {
+			this.subclassTableCount = subclassTableCount;
+			this.innerJoinableSubclassTables = innerJoinableSubclassTables;
+			this.subclassTableKeyColumns = subclassTableKeyColumns;
+			this.subclassPropertyTableNumbers = subclassPropertyTableNumbers;
+			this.subclassPropertyColumnExpressions = subclassPropertyColumnExpressions;
+			this.subclassPropertyFormulaExpressions = subclassPropertyFormulaExpressions;
 		}
-		catch (InvocationTargetException e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e.getTargetException()
-			);
+
+		public int getSubclassTableCount() {
+			return subclassTableCount;
 		}
-		catch (Exception e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e
-			);
+
+		/**
+		 * Is the given (non-root) subclass table guaranteed to have a row for each row of the
+		 * root table, allowing it to be inner joined?  This is the case for the (non-optional,
+		 * non-inverse) tables of the entity itself and its super classes, as opposed to subclass
+		 * tables and optional secondary tables.
+		 */
+		public boolean canInnerJoinSubclassTable(int subclassTableNumber) {
+			return innerJoinableSubclassTables[subclassTableNumber];
 		}
-	}
 
-	public String[] getSubclassPropertyColumnExpressions(EntityPersister persister, int subclassPropertyNumber) {
-		try {
-			final String[][] columnExpressions = (String[][]) subclassPropertyColumnsMethod.invoke( persister );
-			return columnExpressions[subclassPropertyNumber];
+		public String[] getSubclassTableKeyColumns(int subclassTableNumber) {
+			return subclassTableKeyColumns[subclassTableNumber];
 		}
-		catch (InvocationTargetException e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e.getTargetException()
-			);
+
+		public int getSubclassPropertyTableNumber(int subclassPropertyNumber) {
+			return subclassPropertyTableNumbers[subclassPropertyNumber];
 		}
-		catch (Exception e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e
-			);
+
+		public String[] getSubclassPropertyColumnExpressions(int subclassPropertyNumber) {
+			return subclassPropertyColumnExpressions[subclassPropertyNumber];
+		}
+
+		public String[] getSubclassPropertyFormulaExpressions(int subclassPropertyNumber) {
+			return subclassPropertyFormulaExpressions[subclassPropertyNumber];
 		}
 	}
 
-	public String[] getSubclassPropertyFormulaExpressions(EntityPersister persister, int subclassPropertyNumber) {
+	public EntityPersisterInternals extractEntityPersisterInternals(EntityPersister persister) {
+		final AbstractEntityPersister aep = (AbstractEntityPersister) persister;
 		try {
-			final String[][] columnExpressions = (String[][]) subclassPropertyFormulasMethod.invoke( persister );
-			return columnExpressions[subclassPropertyNumber];
-		}
-		catch (InvocationTargetException e) {
-			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e.getTargetException()
+			final int subclassTableCount = (int) subclassTableSpanHandle.invokeExact( aep );
+			final boolean[] innerJoinableSubclassTables = new boolean[subclassTableCount];
+			final String[][] subclassTableKeyColumns = new String[subclassTableCount][];
+			for ( int i = 0; i < subclassTableCount; i++ ) {
+				final org.hibernate.sql.JoinType joinType = (org.hibernate.sql.JoinType) subclassTableJoinTypeHandle.invokeExact(
+						aep,
+						i,
+						true,
+						true,
+						(Set) Collections.emptySet()
+				);
+				innerJoinableSubclassTables[i] = joinType == org.hibernate.sql.JoinType.INNER_JOIN;
+				subclassTableKeyColumns[i] = (String[]) subclassTableKeyColumnsHandle.invokeExact( aep, i );
+			}
+
+			final int subclassPropertyCount = ( (OuterJoinLoadable) persister ).countSubclassProperties();
+			final int[] subclassPropertyTableNumbers = new int[subclassPropertyCount];
+			for ( int i = 0; i < subclassPropertyCount; i++ ) {
+				subclassPropertyTableNumbers[i] = (int) subclassPropertyTableNumberHandle.invokeExact( aep, i );
+			}
+
+			return new EntityPersisterInternals(
+					subclassTableCount,
+					innerJoinableSubclassTables,
+					subclassTableKeyColumns,
+					subclassPropertyTableNumbers,
+					(String[][]) subclassPropertyColumnsHandle.invokeExact( aep ),
+					(String[][]) subclassPropertyFormulasHandle.invokeExact( aep )
 			);
 		}
-		catch (Exception e) {
+		catch (Throwable t) {
 			throw new HibernateException(
-					"Unable to access AbstractEntityPersister#getSubclassPropertyTableNumber [" + persister.toString() + "]",
-					e
+					"Unable to access AbstractEntityPersister internals [" + persister.toString() + "]",
+					t
 			);
 		}
 	}
@@ -57,8 +57,20 @@ public class PersisterFactoryImpl implements PersisterFactory, ServiceRegistryAw
 	}
 
 	public void finishUp(DatabaseModel databaseModel, DomainMetamodelImpl domainMetamodel) {
-		for ( TypeHierarchyNode root : roots ) {
-			root.finishUp( null, databaseModel, domainMetamodel );
+		finishUp( databaseModel, domainMetamodel, false );
+	}
+
+	/**
+	 * @param parallel Should the (independent) type hierarchies be finished up in parallel?
+	 */
+	public void finishUp(DatabaseModel databaseModel, DomainMetamodelImpl domainMetamodel, boolean parallel) {
+		if ( parallel ) {
+			roots.parallelStream().forEach( root -> root.finishUp( null, databaseModel, domainMetamodel ) );
+		}
+		else {
+			for ( TypeHierarchyNode root : roots ) {
+				root.finishUp( null, databaseModel, domainMetamodel );
+			}
 		}
 
 		this.serviceRegistry = null;
@@ -8,7 +8,7 @@ package org.hibernate.persister.common.spi;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.hibernate.MappingException;
 import org.hibernate.persister.common.internal.DerivedColumn;
@@ -18,18 +18,12 @@ import org.hibernate.persister.common.internal.PhysicalColumn;
  * @author Steve Ebersole
  */
 public abstract class AbstractTable implements Table {
-	private final Map<String,Column> valueMap = new TreeMap<String, Column>( String.CASE_INSENSITIVE_ORDER );
+	private final Map<String,Column> valueMap = new ConcurrentSkipListMap<String, Column>( String.CASE_INSENSITIVE_ORDER );
 
 	public PhysicalColumn makeColumn(String name, int jdbcType) {
-		if ( valueMap.containsKey( name ) ) {
-			// assume it is a Column
-			@SuppressWarnings("UnnecessaryLocalVariable") final PhysicalColumn existing = (PhysicalColumn) valueMap.get( name );
-			// todo : "type compatibility" checks would be nice
-			return existing;
-		}
-		final PhysicalColumn column = new PhysicalColumn( this, name, jdbcType );
-		valueMap.put( name, column );
-		return column;
+		// if one exists, assume it is a Column
+		// todo : "type compatibility" checks would be nice
+		return (PhysicalColumn) valueMap.computeIfAbsent( name, key -> new PhysicalColumn( this, name, jdbcType ) );
 	}
 
 	public DerivedColumn makeFormula(String expression, int jdbcType) {
@@ -37,15 +31,9 @@ public abstract class AbstractTable implements Table {
 		// force separate expressions in this case...
 		final String registrationKey = expression;
 
-		if ( valueMap.containsKey( registrationKey ) ) {
-			// assume it is a Formula
-			@SuppressWarnings("UnnecessaryLocalVariable") final DerivedColumn existing = (DerivedColumn) valueMap.get( registrationKey );
-			// todo : "type compatibility" checks would be nice
-			return existing;
-		}
-		final DerivedColumn derivedColumn = new DerivedColumn( this, expression, jdbcType );
-		valueMap.put( registrationKey, derivedColumn );
-		return derivedColumn;
+		// if one exists, assume it is a Formula
+		// todo : "type compatibility" checks would be nice
+		return (DerivedColumn) valueMap.computeIfAbsent( registrationKey, key -> new DerivedColumn( this, expression, jdbcType ) );
 	}
 
 	@Override
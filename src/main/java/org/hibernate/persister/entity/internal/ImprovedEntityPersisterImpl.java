@@ -50,6 +50,9 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 	private final EntityPersister persister;
 
 	private AbstractTable[] tables;
+	// for each non-root table : whether it can be inner joined, and its key (FK to the root table) columns
+	private boolean[] innerJoinableTables;
+	private Column[][] tableKeyColumns;
 
 	private ImprovedEntityPersister superType;
 	private IdentifierDescriptor identifierDescriptor;
@@ -77,6 +80,7 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		this.superType = superType;
 		final Queryable queryable = (Queryable) persister;
 		final OuterJoinLoadable ojlPersister = (OuterJoinLoadable) persister;
+		final Helper.EntityPersisterInternals internals = Helper.INSTANCE.extractEntityPersisterInternals( persister );
 
 		if ( persister instanceof UnionSubclassEntityPersister ) {
 			tables = new AbstractTable[1];
@@ -85,7 +89,7 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		else {
 			// for now we treat super, self and sub attributes here just as EntityPersister does
 			// ultimately would be better to split that across the specific persister impls and link them imo
-			final int subclassTableCount = Helper.INSTANCE.extractSubclassTableCount( persister );
+			final int subclassTableCount = internals.getSubclassTableCount();
 			this.tables = new AbstractTable[subclassTableCount];
 
 			tables[0] = makeTableReference( databaseModel, queryable.getSubclassTableName( 0 ) );
@@ -102,6 +106,19 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 				null
 		);
 
+		innerJoinableTables = new boolean[tables.length];
+		tableKeyColumns = new Column[tables.length][];
+		for ( int i = 1; i < tables.length; i++ ) {
+			innerJoinableTables[i] = internals.canInnerJoinSubclassTable( i );
+			tableKeyColumns[i] = Helper.makeValues(
+					domainMetamodel.getSessionFactory(),
+					tables[i],
+					persister.getIdentifierType(),
+					internals.getSubclassTableKeyColumns( i ),
+					null
+			);
+		}
+
 		if ( persister.getIdentifierType() instanceof BasicType ) {
 			identifierDescriptor = new IdentifierSimple(
 					this,
@@ -147,9 +164,9 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 
 			final org.hibernate.type.Type attributeType = ojlPersister.getSubclassPropertyType( attributeNumber );
 
-			final AbstractTable containingTable = tables[ Helper.INSTANCE.getSubclassPropertyTableNumber( persister, attributeNumber ) ];
-			final String [] columns = Helper.INSTANCE.getSubclassPropertyColumnExpressions( persister, attributeNumber );
-			final String [] formulas = Helper.INSTANCE.getSubclassPropertyFormulaExpressions( persister, attributeNumber );
+			final AbstractTable containingTable = tables[ internals.getSubclassPropertyTableNumber( attributeNumber ) ];
+			final String [] columns = internals.getSubclassPropertyColumnExpressions( attributeNumber );
+			final String [] formulas = internals.getSubclassPropertyFormulaExpressions( attributeNumber );
 			final Column[] values = Helper.makeValues(
 					domainMetamodel.getSessionFactory(),
 					containingTable,
@@ -218,22 +235,10 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			SqlAliasBaseManager sqlAliasBaseManager,
 			FromClauseIndex fromClauseIndex) {
 
-		// todo : limit inclusion of subclass tables.
-		// 		we should only include subclass tables in very specific circumstances (such
-		// 		as handling persister reference in select clause, JPQL TYPE cast, subclass attribute
-		// 		de-reference, etc).  In other cases it is an unnecessary overhead to include those
-		// 		table joins
-		//
-		// however... the easiest way to accomplish this is during the SQM building to have each FromElement
-		//		keep track of all needed subclass references.  The problem is that that gets tricky with the
-		// 		design goal of having SQM be completely independent from ORM.  It basically means we will end
-		// 		up needing to expose more model and mapping information in the org.hibernate.sqm.domain.ModelMetadata
-		// 		contracts
-		//
-		// Another option would be to have exposed methods on TableSpecificationGroup to "register"
-		//		path dereferences as we interpret SQM.  The idea being that we'd capture the need for
-		//		certain subclasses as we interpret the SQM into SQL-AST via this registration.  However
-		//		since
+		// NOTE : the non-root (subclass, secondary) tables are joined "optionally" - they are
+		// 		only rendered if the query references one of their columns (subclass attribute
+		// 		de-reference, persister reference in the select clause, etc); see
+		// 		AbstractTableGroup#addOptionalTableJoin
 
 		final EntityTableGroup group = new EntityTableGroup(
 				tableSpace,
@@ -247,17 +252,49 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		final TableBinding drivingTableBinding = new TableBinding( tables[0], group.getAliasBase() );
 		group.setRootTableBinding( drivingTableBinding );
 
-		// todo : determine proper join type
-		JoinType joinType = JoinType.LEFT;
-		addNonRootTables( group, joinType, 0, drivingTableBinding );
+		// the root table is always present, so the non-root tables may be inner joined when
+		// the mapping guarantees them a row (see #addNonRootTables)
+		addNonRootTables( group, JoinType.INNER, 0, drivingTableBinding );
 
 		return group;
 	}
 
+	/**
+	 * Join the non-root tables to the entity's root table.  The tables of the entity itself and
+	 * its super classes which are guaranteed to have a row (JOINED inheritance, non-optional
+	 * secondary tables) are inner joined as long as the root table itself is inner joined; all
+	 * others (subclass tables, optional secondary tables) are outer joined.
+	 */
 	private void addNonRootTables(AbstractTableGroup group, JoinType joinType, int baseAdjust, TableBinding entityRootTableBinding) {
+		final boolean canInnerJoin = joinType == JoinType.INNER;
+		final Column[] rootKeyColumns = identifierDescriptor.getColumns();
+
 		for ( int i = 1; i < tables.length; i++ ) {
 			final TableBinding tableBinding = new TableBinding( tables[i], group.getAliasBase() + '_' + (i + (baseAdjust-1)) );
-			group.addTableSpecificationJoin( new TableJoin( joinType, tableBinding, null ) );
+
+			final Column[] keyColumns = tableKeyColumns[i];
+			assert keyColumns.length == rootKeyColumns.length;
+			final Junction joinPredicate = new Junction( Junction.Nature.CONJUNCTION );
+			for ( int j = 0; j < keyColumns.length; j++ ) {
+				joinPredicate.add(
+						new RelationalPredicate(
+								RelationalPredicate.Operator.EQUAL,
+								new ColumnBindingExpression( new ColumnBinding( rootKeyColumns[j], entityRootTableBinding ) ),
+								new ColumnBindingExpression( new ColumnBinding( keyColumns[j], tableBinding ) )
+						)
+				);
+			}
+
+			if ( canInnerJoin && innerJoinableTables[i] ) {
+				// an inner join restricts the results to the rows having a row in the table (e.g. for
+				// a JOINED subclass, to the instances of that subclass), so it is never pruned
+				group.addTableSpecificationJoin( new TableJoin( JoinType.INNER, tableBinding, joinPredicate ) );
+			}
+			else {
+				// joined by primary key, an outer join matches at most one row and so cannot
+				// affect the results when none of the table's columns are referenced
+				group.addOptionalTableJoin( new TableJoin( JoinType.LEFT, tableBinding, joinPredicate ) );
+			}
 		}
 	}
 
@@ -144,6 +144,36 @@ public interface Query<R> extends TypedQuery<R>, CommonQueryContract {
 	 */
 	Stream<R> stream();
 
+	/**
+	 * Is row recycling enabled for this query?
+	 *
+	 * @return {@code true} if row recycling is enabled
+	 *
+	 * @see #setRowRecyclingEnabled(boolean)
+	 */
+	boolean isRowRecyclingEnabled();
+
+	/**
+	 * Enable (or disable) row recycling.  When enabled, {@link #scroll} and (sequential)
+	 * {@link #stream()} re-use a single {@code Object[]} row for every row of the results
+	 * instead of allocating one per row.  A row (or anything the TupleTransformer/result-type
+	 * handling builds over it) is then only valid until the next row is read, and must not
+	 * be modified : consume it immediately (e.g. {@code stream().forEach(...)}) and copy
+	 * any values to be retained.
+	 * <p/>
+	 * As the elements of a Stream may be kept by the Stream itself, {@link #stream()} throws
+	 * an {@link IllegalStateException} for recycled results whose rows are the re-used array
+	 * or built over it (Object[], Tuple and TupleTransformer results); only single-valued
+	 * results may be streamed with row recycling.
+	 * <p/>
+	 * Ignored for {@link #list()} and {@link #iterate()}.  Disabled by default.
+	 *
+	 * @param enabled {@code true} to enable row recycling
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	Query<R> setRowRecyclingEnabled(boolean enabled);
+
 	/**
 	 * Obtain the comment currently associated with this query.  Provided SQL commenting is enabled
 	 * (generally by enabling the {@code hibernate.use_sql_comments} config setting), this comment will also be added
@@ -31,4 +31,11 @@ public interface QueryOptions {
 
 	TupleTransformer getTupleTransformer();
 	ResultListTransformer getResultListTransformer();
+
+	/**
+	 * Should a single row be re-used for each row when scrolling/streaming?
+	 *
+	 * @see Query#setRowRecyclingEnabled
+	 */
+	boolean isRowRecyclingEnabled();
 }
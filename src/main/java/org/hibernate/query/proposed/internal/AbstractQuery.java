@@ -22,7 +22,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.persistence.CacheRetrieveMode;
@@ -267,6 +266,18 @@ public abstract class AbstractQuery<R> implements QueryImplementor<R> {
 		return this;
 	}
 
+	@Override
+	public boolean isRowRecyclingEnabled() {
+		return getQueryOptions().isRowRecyclingEnabled();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public QueryImplementor setRowRecyclingEnabled(boolean enabled) {
+		getQueryOptions().setRowRecyclingEnabled( enabled );
+		return this;
+	}
+
 	@Override
 	public LockOptions getLockOptions() {
 		return getQueryOptions().getLockOptions();
@@ -1301,13 +1312,35 @@ public abstract class AbstractQuery<R> implements QueryImplementor<R> {
 	@SuppressWarnings("unchecked")
 	public Stream<R> stream() {
 		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
-		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
-		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
+		if ( scrollableResults.isRowRecycled() ) {
+			// every element of the Stream would be the same (re-used) row; anything
+			// keeping elements (collect(), sorted(), ...) would silently get the last row
+			scrollableResults.close();
+			throw new IllegalStateException(
+					"Row recycling cannot be applied to stream() for results returning the row itself " +
+							"(Object[], Tuple or TupleTransformer results); disable row recycling"
+			);
+		}
+
+		final Spliterator<R> spliterator = new ScrollableResultsSpliterator<>(
+				scrollableResults,
+				isOrdered(),
+				getQueryOptions().getLimit().getMaxRows(),
+				ScrollableResultsSpliterator.DEFAULT_BATCH_SIZE,
+				isRowRecyclingEnabled()
+		);
 
-		final Stream<R> stream = StreamSupport.stream( spliterator, false );
-		stream.onClose( scrollableResults::close );
+		// NOTE : the spliterator closes the ScrollableResults once the rows are exhausted;
+		// 		closing the Stream covers the case of the Stream not being fully consumed
+		return StreamSupport.stream( spliterator, false ).onClose( scrollableResults::close );
+	}
 
-		return stream;
+	/**
+	 * Does this query define an ordering of its results (ORDER BY)?  Used to
+	 * report {@link Spliterator#ORDERED} for {@link #stream()}
+	 */
+	protected boolean isOrdered() {
+		return false;
 	}
 
 	@Override
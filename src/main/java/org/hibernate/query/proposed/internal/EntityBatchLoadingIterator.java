@@ -0,0 +1,241 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.hibernate.Incubating;
+import org.hibernate.LockOptions;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.MultiLoadOptions;
+import org.hibernate.query.proposed.spi.CloseableIterator;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.sql.convert.spi.Return;
+import org.hibernate.sql.exec.results.internal.ReturnReaderShallowEntityImpl;
+import org.hibernate.sql.exec.spi.RowTransformer;
+
+/**
+ * Iterator backing {@link org.hibernate.query.proposed.Query#iterate()}.  The query
+ * is executed shallow (entity selections select just the identifier) and the rows
+ * are pulled from the (forward-only) ScrollableResults {@code batchSize} at a time.
+ * The entities for each batch are then resolved by id:<ul>
+ *     <li>ids whose entity is in the second-level cache are loaded individually (no SQL)</li>
+ *     <li>the remaining ids are loaded by a single multi-id load</li>
+ * </ul>
+ * The ScrollableResults is closed once the rows are exhausted, reading fails or
+ * {@link #close()} is called.
+ *
+ * @author agent
+ */
+@Incubating
+public class EntityBatchLoadingIterator<R> implements CloseableIterator<R> {
+	/**
+	 * The batch size used when no {@code hibernate.default_batch_fetch_size} is defined
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 32;
+
+	private final ScrollableResultsImplementor scrollableResults;
+	private final int[] entityPositions;
+	private final EntityPersister[] entityPersisters;
+	private final RowTransformer<R> rowTransformer;
+	private final int batchSize;
+	private final MultiLoadOptions multiLoadOptions;
+	private final SharedSessionContractImplementor session;
+
+	private final List<R> batch;
+	private int batchPosition;
+
+	/**
+	 * @param scrollableResults The ScrollableResults over the shallow query; rows must be
+	 * the untransformed {@code Object[]}
+	 * @param returns The Returns of the shallow query
+	 * @param rowTransformer The transformer to apply to the rows once the entities are loaded
+	 * @param batchSize The number of rows (and so ids per entity selection) per batch
+	 * @param lockOptions The lock options to apply when loading the entities
+	 * @param session The session
+	 */
+	public EntityBatchLoadingIterator(
+			ScrollableResultsImplementor scrollableResults,
+			List<Return> returns,
+			RowTransformer<R> rowTransformer,
+			int batchSize,
+			LockOptions lockOptions,
+			SharedSessionContractImplementor session) {
+		this.scrollableResults = scrollableResults;
+		this.rowTransformer = rowTransformer;
+		this.batchSize = batchSize;
+		this.multiLoadOptions = new MultiLoadOptionsImpl( lockOptions, batchSize );
+		this.session = session;
+
+		final List<Integer> positions = new ArrayList<>();
+		final List<EntityPersister> persisters = new ArrayList<>();
+		for ( int i = 0; i < returns.size(); i++ ) {
+			if ( returns.get( i ).getReturnReader() instanceof ReturnReaderShallowEntityImpl ) {
+				positions.add( i );
+				persisters.add( ( (ReturnReaderShallowEntityImpl) returns.get( i ).getReturnReader() ).getEntityPersister() );
+			}
+		}
+		this.entityPositions = positions.stream().mapToInt( Integer::intValue ).toArray();
+		this.entityPersisters = persisters.toArray( new EntityPersister[ persisters.size() ] );
+
+		this.batch = new ArrayList<>( batchSize );
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( batchPosition < batch.size() ) {
+			return true;
+		}
+		if ( scrollableResults.isClosed() ) {
+			return false;
+		}
+
+		try {
+			loadNextBatch();
+		}
+		catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+		return batchPosition < batch.size();
+	}
+
+	@Override
+	public R next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		final R row = batch.get( batchPosition );
+		// release the row as we go
+		batch.set( batchPosition++, null );
+		return row;
+	}
+
+	@Override
+	public void close() {
+		batch.clear();
+		batchPosition = 0;
+		scrollableResults.close();
+	}
+
+	private void loadNextBatch() {
+		batch.clear();
+		batchPosition = 0;
+
+		final List<Object[]> rows = new ArrayList<>( batchSize );
+		while ( rows.size() < batchSize && scrollableResults.next() ) {
+			rows.add( (Object[]) scrollableResults.getCurrentRow() );
+		}
+		if ( rows.size() < batchSize ) {
+			// we reached the end of the results
+			scrollableResults.close();
+		}
+
+		for ( int i = 0; i < entityPositions.length; i++ ) {
+			loadEntities( rows, entityPositions[i], entityPersisters[i] );
+		}
+
+		for ( Object[] row : rows ) {
+			batch.add( rowTransformer.transformRow( row ) );
+		}
+	}
+
+	private void loadEntities(List<Object[]> rows, int position, EntityPersister persister) {
+		final Map<Object,Object> entitiesById = new HashMap<>();
+		final List<Serializable> idsToLoad = new ArrayList<>();
+
+		for ( Object[] row : rows ) {
+			final Object id = row[position];
+			if ( id == null || entitiesById.containsKey( id ) ) {
+				continue;
+			}
+
+			if ( isInSecondLevelCache( persister, id ) ) {
+				entitiesById.put( id, session.internalLoad( persister.getEntityName(), (Serializable) id, true, true ) );
+			}
+			else {
+				entitiesById.put( id, null );
+				idsToLoad.add( (Serializable) id );
+			}
+		}
+
+		if ( !idsToLoad.isEmpty() ) {
+			// NOTE : ordered-return is enabled, so the results line up with the ids
+			final List loaded = persister.multiLoad(
+					idsToLoad.toArray( new Serializable[ idsToLoad.size() ] ),
+					session,
+					multiLoadOptions
+			);
+			for ( int i = 0; i < idsToLoad.size(); i++ ) {
+				entitiesById.put( idsToLoad.get( i ), loaded.get( i ) );
+			}
+		}
+
+		for ( Object[] row : rows ) {
+			if ( row[position] != null ) {
+				row[position] = entitiesById.get( row[position] );
+			}
+		}
+	}
+
+	private boolean isInSecondLevelCache(EntityPersister persister, Object id) {
+		if ( !persister.hasCache() || !session.getCacheMode().isGetEnabled() ) {
+			return false;
+		}
+
+		final EntityRegionAccessStrategy cacheAccess = persister.getCacheAccessStrategy();
+		final Object cacheKey = cacheAccess.generateCacheKey(
+				id,
+				persister,
+				session.getFactory(),
+				session.getTenantIdentifier()
+		);
+		return cacheAccess.getRegion().contains( cacheKey );
+	}
+
+	private static class MultiLoadOptionsImpl implements MultiLoadOptions {
+		private final LockOptions lockOptions;
+		private final int batchSize;
+
+		private MultiLoadOptionsImpl(LockOptions lockOptions, int batchSize) {
+			this.lockOptions = lockOptions == null ? LockOptions.NONE : lockOptions;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		public boolean isSessionCheckingEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isReturnOfDeletedEntitiesEnabled() {
+			return false;
+		}
+
+		@Override
+		public boolean isOrderReturnEnabled() {
+			return true;
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return lockOptions;
+		}
+
+		@Override
+		public Integer getBatchSize() {
+			return batchSize;
+		}
+	}
+}
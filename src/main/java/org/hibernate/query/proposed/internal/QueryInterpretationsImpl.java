@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.query.proposed.spi.NonSelectQueryPlan;
+import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Standard QueryInterpretations implementation.  Much like the legacy
+ * {@link org.hibernate.engine.query.spi.QueryPlanCache} the plans are kept in
+ * bounded (by entry count) {@link BoundedConcurrentHashMap}s using LIRS eviction.
+ * Reads do not lock, and LIRS keeps one-off (ad-hoc) queries from flushing the
+ * frequently used plans out of the cache.
+ * <p/>
+ * Like the legacy cache, the cache is bounded by entry count only (through
+ * {@link AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE}), not by the size of the plans.  The size of a
+ * plan (its SQM and rendered SQL) is proportional to the query string the application
+ * wrote, not to the values it binds : bind values and first/max-results are bound rather
+ * than rendered, and IN-lists are padded (see {@link org.hibernate.sql.convert.spi.Helper#determinePaddedValueCount})
+ * so that a query has at most a handful of entries, the largest holding one parameter
+ * marker per padded value.  Queries whose plans are per execution (entity graphs,
+ * pessimistic locks) are not cached at all.  Applications with unusually large queries
+ * should lower the entry count instead.
+ * <p/>
+ * Hits, misses and evictions are counted for monitoring purposes.
+ *
+ * @author agent
+ */
+public class QueryInterpretationsImpl implements QueryInterpretations {
+	private static final Logger log = Logger.getLogger( QueryInterpretationsImpl.class );
+
+	/**
+	 * The default maximum number of entries (per plan type)
+	 */
+	public static final int DEFAULT_MAX_SIZE = 2048;
+
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 20;
+
+	private final BoundedConcurrentHashMap<Key, SelectQueryPlan> selectQueryPlanMap;
+	private final BoundedConcurrentHashMap<Key, NonSelectQueryPlan> nonSelectQueryPlanMap;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Builds a QueryInterpretationsImpl using the size defined by
+	 * {@link AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE} (if any) from the
+	 * given configuration settings
+	 *
+	 * @param configurationSettings The configuration settings
+	 */
+	public QueryInterpretationsImpl(Map configurationSettings) {
+		this(
+				ConfigurationHelper.getInt(
+						AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE,
+						configurationSettings,
+						DEFAULT_MAX_SIZE
+				)
+		);
+	}
+
+	public QueryInterpretationsImpl(int maxSize) {
+		if ( maxSize <= 0 ) {
+			throw new IllegalArgumentException( "QueryInterpretations max size must be positive : " + maxSize );
+		}
+		log.debugf( "Building QueryInterpretations with max size [%s]", maxSize );
+
+		this.selectQueryPlanMap = new BoundedConcurrentHashMap<>(
+				maxSize,
+				DEFAULT_CONCURRENCY_LEVEL,
+				BoundedConcurrentHashMap.Eviction.LIRS,
+				new EvictionCounter<>()
+		);
+		this.nonSelectQueryPlanMap = new BoundedConcurrentHashMap<>(
+				maxSize,
+				DEFAULT_CONCURRENCY_LEVEL,
+				BoundedConcurrentHashMap.Eviction.LIRS,
+				new EvictionCounter<>()
+		);
+	}
+
+	@Override
+	public SelectQueryPlan getSelectQueryPlan(Key key) {
+		return recordAccess( selectQueryPlanMap.get( key ) );
+	}
+
+	@Override
+	public void cacheSelectQueryPlan(Key key, SelectQueryPlan plan) {
+		selectQueryPlanMap.put( key, plan );
+	}
+
+	@Override
+	public NonSelectQueryPlan getNonSelectQueryPlan(Key key) {
+		return recordAccess( nonSelectQueryPlanMap.get( key ) );
+	}
+
+	@Override
+	public void cacheNonSelectQueryPlan(Key key, NonSelectQueryPlan plan) {
+		nonSelectQueryPlanMap.put( key, plan );
+	}
+
+	private <P> P recordAccess(P plan) {
+		if ( plan == null ) {
+			missCount.increment();
+		}
+		else {
+			hitCount.increment();
+		}
+		return plan;
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * The number of plans (select and non-select) currently cached
+	 */
+	public int getSize() {
+		return selectQueryPlanMap.size() + nonSelectQueryPlanMap.size();
+	}
+
+	/**
+	 * Clean up the cache; usually called as the SessionFactory is closed
+	 */
+	public void cleanup() {
+		log.trace( "Cleaning QueryInterpretations" );
+		selectQueryPlanMap.clear();
+		nonSelectQueryPlanMap.clear();
+	}
+
+	private class EvictionCounter<P> implements BoundedConcurrentHashMap.EvictionListener<Key, P> {
+		@Override
+		public void onEntryEviction(Map<Key, P> evicted) {
+			evictionCount.add( evicted.size() );
+		}
+
+		@Override
+		public void onEntryChosenForEviction(P internalCacheEntry) {
+		}
+	}
+}
@@ -35,6 +35,7 @@ public class QueryOptionsImpl implements MutableQueryOptions {
 	private Boolean resultCachingEnabled;
 	private String resultCacheRegionName;
 	private Boolean readOnlyEnabled;
+	private boolean rowRecyclingEnabled;
 
 	private TupleTransformer tupleTransformer;
 	private ResultListTransformer resultListTransformer;
@@ -164,4 +165,14 @@ public class QueryOptionsImpl implements MutableQueryOptions {
 	public Boolean isReadOnly() {
 		return readOnlyEnabled;
 	}
+
+	@Override
+	public boolean isRowRecyclingEnabled() {
+		return rowRecyclingEnabled;
+	}
+
+	@Override
+	public void setRowRecyclingEnabled(boolean enabled) {
+		this.rowRecyclingEnabled = enabled;
+	}
 }
@@ -0,0 +1,216 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import org.hibernate.Incubating;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+
+/**
+ * Spliterator backing {@link org.hibernate.query.proposed.Query#stream()}.  Each
+ * {@link #tryAdvance} moves the underlying (forward-only) ScrollableResults one row
+ * and hands over the row as produced by the RowTransformer, so rows are only read
+ * as the stream pulls them.
+ * <p/>
+ * The ScrollableResults (and so its JDBC resources) is closed as soon as the rows
+ * are exhausted or reading a row fails, in addition to when the Stream is closed.
+ * <p/>
+ * A JDBC cursor cannot be split, but for parallel streams {@link #trySplit()} reads the
+ * next {@code batchSize} rows (on the thread holding this spliterator) and splits them off
+ * as a batch.  Only when assembling the rows never accesses the Session (scalars, dynamic
+ * instantiation of scalars - see {@link ScrollableResultsImplementor#isDetachedAssemblySupported()})
+ * are just the JDBC values read, the rows then being assembled on the fork-join workers.
+ * Otherwise the rows are assembled as they are read and the workers only get the assembled
+ * rows, so the Session is never accessed concurrently.  With row recycling no splitting is
+ * done at all, as each row is only valid until the next one is read.
+ *
+ * @author agent
+ */
+@Incubating
+public class ScrollableResultsSpliterator<R> implements Spliterator<R> {
+	/**
+	 * The default number of rows per batch split off for parallel processing
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private final ScrollableResultsImplementor scrollableResults;
+	private final int characteristics;
+	private final int batchSize;
+	private final boolean recycledRows;
+	private long estimatedSize;
+
+	/**
+	 * @param scrollableResults The (forward-only) ScrollableResults to pull rows from
+	 * @param ordered Does the query define an ordering of its results?
+	 * @param maxRows The query's max-rows, if one; used only for {@link #estimateSize()}
+	 * @param batchSize The number of rows per batch split off for parallel processing
+	 * @param recycledRows Is the same row array re-used for all rows (row recycling)?
+	 */
+	public ScrollableResultsSpliterator(
+			ScrollableResultsImplementor scrollableResults,
+			boolean ordered,
+			Integer maxRows,
+			int batchSize,
+			boolean recycledRows) {
+		this.scrollableResults = scrollableResults;
+		this.characteristics = ordered ? ORDERED : 0;
+		this.estimatedSize = maxRows == null ? Long.MAX_VALUE : maxRows;
+		this.batchSize = batchSize;
+		this.recycledRows = recycledRows;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean tryAdvance(Consumer<? super R> action) {
+		if ( scrollableResults.isClosed() ) {
+			return false;
+		}
+
+		final boolean hasRow;
+		try {
+			hasRow = scrollableResults.next();
+		}
+		catch (RuntimeException e) {
+			scrollableResults.close();
+			throw e;
+		}
+
+		if ( !hasRow ) {
+			scrollableResults.close();
+			return false;
+		}
+
+		action.accept( (R) scrollableResults.getCurrentRow() );
+		return true;
+	}
+
+	@Override
+	public Spliterator<R> trySplit() {
+		if ( recycledRows || scrollableResults.isClosed() ) {
+			return null;
+		}
+
+		final List<?> batch;
+		try {
+			batch = scrollableResults.isDetachedAssemblySupported()
+					? scrollableResults.readJdbcValues( batchSize )
+					: assembleRows();
+		}
+		catch (RuntimeException e) {
+			scrollableResults.close();
+			throw e;
+		}
+
+		if ( batch.size() < batchSize ) {
+			// we reached the end of the results
+			scrollableResults.close();
+		}
+
+		if ( batch.isEmpty() ) {
+			return null;
+		}
+
+		if ( estimatedSize != Long.MAX_VALUE ) {
+			estimatedSize = Math.max( 0, estimatedSize - batch.size() );
+		}
+
+		if ( scrollableResults.isDetachedAssemblySupported() ) {
+			@SuppressWarnings("unchecked")
+			final List<Object[]> jdbcValuesBatch = (List<Object[]>) batch;
+			return new BatchSpliterator<>( scrollableResults, jdbcValuesBatch, 0, batch.size(), characteristics );
+		}
+		return Spliterators.spliterator( batch.toArray(), characteristics );
+	}
+
+	/**
+	 * Read and assemble (up to) the next {@code batchSize} rows on this thread
+	 */
+	private List<Object> assembleRows() {
+		final List<Object> rows = new ArrayList<>( batchSize );
+		while ( rows.size() < batchSize && scrollableResults.next() ) {
+			rows.add( scrollableResults.getCurrentRow() );
+		}
+		return rows;
+	}
+
+	@Override
+	public long estimateSize() {
+		return estimatedSize;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+
+	/**
+	 * Spliterator over a batch of rows read (as JDBC values) by {@link #trySplit()};
+	 * assembles each row as it is consumed.  Only used for rows whose assembly never
+	 * accesses the Session.
+	 */
+	private static class BatchSpliterator<R> implements Spliterator<R> {
+		private final ScrollableResultsImplementor scrollableResults;
+		private final List<Object[]> batch;
+		private final int characteristics;
+		private final int end;
+		private int position;
+
+		private BatchSpliterator(
+				ScrollableResultsImplementor scrollableResults,
+				List<Object[]> batch,
+				int position,
+				int end,
+				int characteristics) {
+			this.scrollableResults = scrollableResults;
+			this.batch = batch;
+			this.position = position;
+			this.end = end;
+			this.characteristics = characteristics | SIZED | SUBSIZED;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super R> action) {
+			if ( position >= end ) {
+				return false;
+			}
+
+			final Object[] jdbcValues = batch.get( position );
+			// release the values as we go
+			batch.set( position++, null );
+			action.accept( (R) scrollableResults.assembleRow( jdbcValues ) );
+			return true;
+		}
+
+		@Override
+		public Spliterator<R> trySplit() {
+			final int mid = ( position + end ) >>> 1;
+			if ( mid <= position ) {
+				return null;
+			}
+
+			final Spliterator<R> prefix = new BatchSpliterator<>( scrollableResults, batch, position, mid, characteristics );
+			position = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - position;
+		}
+
+		@Override
+		public int characteristics() {
+			return characteristics;
+		}
+	}
+}
@@ -9,23 +9,101 @@ package org.hibernate.query.proposed.internal.sqm;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.QueryException;
 import org.hibernate.ScrollMode;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.Limit;
 import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.ResultListTransformer;
+import org.hibernate.query.proposed.TupleTransformer;
 import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryEngine;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
 import org.hibernate.query.proposed.spi.SelectQueryPlan;
+import org.hibernate.sql.exec.internal.DetachedJdbcSelectExecution;
+import org.hibernate.sql.exec.internal.SortKeyedRowCursor;
+
+import org.jboss.logging.Logger;
 
 /**
+ * SelectQueryPlan for a query split (by {@link org.hibernate.sqm.QuerySplitter}) into
+ * multiple concrete queries, e.g. an implicitly polymorphic query.  The results of the
+ * concrete queries are concatenated in order.
+ * <p/>
+ * The first/max-results apply to the overall results : each concrete query is limited
+ * to first+max rows, and the window is applied to the aggregated results.
+ * <p/>
+ * For ordered queries, the results are instead merged (k-way, through a heap) from cursors
+ * over the concrete queries, each selecting its ORDER BY values as sort keys (see
+ * {@link ConcreteSqmSelectQueryPlan#performSortKeyedScroll}).  Reading stops as soon as
+ * first+max rows are merged, so a top-N reads at most N rows per concrete query.  Only
+ * numeric and temporal ORDER BY values are selected as sort keys.  Queries ordered by others
+ * (e.g. character values, whose order depends on the database collation) cannot be merged :
+ * their ordered results are concatenated (with a warning), and first/max-results cannot be
+ * applied to them at all.
+ * <p/>
+ * If enabled ({@link #PARALLEL_EXECUTION}), {@link #performList} executes the concrete
+ * queries concurrently, each on a Connection of its own (see {@link DetachedJdbcSelectExecution}),
+ * on the SessionFactory's {@link QueryEngine#getParallelExecutor() executor}; the results are
+ * still read (and the entities loaded) on the calling thread.  As those Connections would not
+ * see changes made within the Session, the queries are executed serially while the Session has
+ * a transaction in progress or (possibly) changes pending.  At most
+ * {@link QueryEngine#PARALLEL_EXECUTION_MAX_CONCURRENCY} queries (and so pooled Connections)
+ * are executed at a time; if no Connection can be obtained the remaining queries are executed
+ * serially on the Session's Connection.  Queries requesting pessimistic locks are always
+ * executed serially on the Session's Connection.
+ *
  * @author Steve Ebersole
  */
 public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
+	private static final Logger log = Logger.getLogger( AggregatedSelectQueryPlanImpl.class );
+
+	/**
+	 * Setting to enable executing the concrete queries of a split query concurrently;
+	 * disabled by default
+	 */
+	public static final String PARALLEL_EXECUTION = "hibernate.query.split_parallel_execution";
+
 	private final SelectQueryPlan<R>[] aggregatedQueryPlans;
+	private final boolean ordered;
+	private final boolean parallelExecution;
+
+	private volatile boolean unmergeableOrderWarned;
 
 	public AggregatedSelectQueryPlanImpl(SelectQueryPlan<R>[] aggregatedQueryPlans) {
+		this( aggregatedQueryPlans, false, false );
+	}
+
+	public AggregatedSelectQueryPlanImpl(
+			SelectQueryPlan<R>[] aggregatedQueryPlans,
+			boolean ordered,
+			boolean parallelExecution) {
 		this.aggregatedQueryPlans = aggregatedQueryPlans;
+		this.ordered = ordered;
+		this.parallelExecution = parallelExecution;
+	}
+
+	@Override
+	public void prepare(
+			SessionFactoryImplementor sessionFactory,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		final QueryOptions concreteQueryOptions = resolveConcreteQueryOptions( queryOptions );
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			aggregatedQueryPlan.prepare( sessionFactory, concreteQueryOptions, inputParameterBindings );
+		}
 	}
 
 	@Override
@@ -34,17 +112,300 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 			ExecutionContext executionContext,
 			QueryOptions queryOptions,
 			QueryParameterBindings inputParameterBindings) {
-		final List<R> overallResults = new ArrayList<>();
+		final QueryOptions concreteQueryOptions = resolveConcreteQueryOptions( queryOptions );
 
+		if ( ordered && areAllConcrete() ) {
+			final List<R> mergedResults = performMergedList(
+					persistenceContext,
+					executionContext,
+					queryOptions,
+					concreteQueryOptions,
+					inputParameterBindings
+			);
+			if ( mergedResults != null ) {
+				return mergedResults;
+			}
+		}
+		if ( ordered ) {
+			handleUnmergeableOrder( queryOptions.getLimit() );
+		}
+
+		final List<R> overallResults;
+		if ( canExecuteInParallel( persistenceContext, queryOptions ) ) {
+			overallResults = performParallelList( persistenceContext, executionContext, concreteQueryOptions, inputParameterBindings );
+		}
+		else {
+			overallResults = new ArrayList<>();
+			for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+				overallResults.addAll(
+						aggregatedQueryPlan.performList(
+								persistenceContext,
+								executionContext,
+								concreteQueryOptions,
+								inputParameterBindings
+						)
+				);
+			}
+		}
+
+		return applyLimit( overallResults, queryOptions.getLimit() );
+	}
+
+	/**
+	 * The QueryOptions for the concrete queries : each has to return (up to) first+max rows
+	 */
+	private static QueryOptions resolveConcreteQueryOptions(QueryOptions queryOptions) {
+		final Limit limit = queryOptions.getLimit();
+		if ( limit.getFirstRow() == null && limit.getMaxRows() == null ) {
+			return queryOptions;
+		}
+
+		final Limit concreteLimit = new Limit();
+		if ( limit.getMaxRows() != null ) {
+			concreteLimit.setMaxRows( (int) Math.min( Integer.MAX_VALUE, (long) limit.getFirstRowJpa() + limit.getMaxRows() ) );
+		}
+		return new LimitOverridingQueryOptions( queryOptions, concreteLimit );
+	}
+
+	private static <R> List<R> applyLimit(List<R> overallResults, Limit limit) {
+		final int firstRow = limit.getFirstRowJpa();
+		if ( firstRow == 0 && limit.getMaxRows() == null ) {
+			return overallResults;
+		}
+		if ( firstRow >= overallResults.size() ) {
+			return new ArrayList<>();
+		}
+
+		final int end = (int) Math.min( overallResults.size(), (long) firstRow + limit.getMaxRowsJpa() );
+		return new ArrayList<>( overallResults.subList( firstRow, end ) );
+	}
+
+	/**
+	 * The ordered results of the concrete queries cannot be merged.  Concatenating them does
+	 * not give the overall order, so a window of those results would hold the wrong rows.
+	 */
+	private void handleUnmergeableOrder(Limit limit) {
+		if ( limit.getFirstRowJpa() > 0 || limit.getMaxRows() != null ) {
+			throw new QueryException(
+					"First/max results cannot be applied to a query split into multiple queries " +
+							"ordered by other than numeric or temporal values"
+			);
+		}
+		if ( !unmergeableOrderWarned ) {
+			unmergeableOrderWarned = true;
+			log.warnf(
+					"Query split into %s queries is ordered by other than numeric or temporal values; " +
+							"its results are only ordered per query",
+					aggregatedQueryPlans.length
+			);
+		}
+	}
+
+	private boolean areAllConcrete() {
 		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			if ( !( aggregatedQueryPlan instanceof ConcreteSqmSelectQueryPlan ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The merged results, or {@code null} if the ORDER BY values cannot be
+	 * merged on, in which case nothing was read
+	 */
+	private List<R> performMergedList(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryOptions concreteQueryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		final int firstRow = queryOptions.getLimit().getFirstRowJpa();
+		final int maxRows = queryOptions.getLimit().getMaxRowsJpa();
+
+		final List<SortKeyedRowCursor<R>> cursors = new ArrayList<>( aggregatedQueryPlans.length );
+		try {
+			final PriorityQueue<SortKeyedRowCursor<R>> heads = new PriorityQueue<>( aggregatedQueryPlans.length );
+			for ( int i = 0; i < aggregatedQueryPlans.length; i++ ) {
+				final SortKeyedRowCursor<R> cursor = concretePlan( i ).performSortKeyedScroll(
+						persistenceContext,
+						executionContext,
+						concreteQueryOptions,
+						inputParameterBindings
+				);
+				if ( cursor == null ) {
+					return null;
+				}
+				cursors.add( cursor );
+				if ( cursor.next() ) {
+					heads.add( cursor );
+				}
+			}
+
+			final List<R> mergedResults = new ArrayList<>();
+			int position = 0;
+			while ( mergedResults.size() < maxRows && !heads.isEmpty() ) {
+				final SortKeyedRowCursor<R> cursor = heads.poll();
+				// rows before the first-row are never assembled
+				if ( position++ >= firstRow ) {
+					mergedResults.add( cursor.getCurrentRow() );
+				}
+				if ( cursor.next() ) {
+					heads.add( cursor );
+				}
+			}
+			return mergedResults;
+		}
+		finally {
+			for ( SortKeyedRowCursor<R> cursor : cursors ) {
+				cursor.close();
+			}
+		}
+	}
+
+	private boolean canExecuteInParallel(SharedSessionContractImplementor persistenceContext, QueryOptions queryOptions) {
+		if ( !parallelExecution || aggregatedQueryPlans.length < 2 ) {
+			return false;
+		}
+		if ( queryOptions.getLockOptions().findGreatestLockMode().greaterThan( LockMode.READ ) ) {
+			// locks acquired on other Connections would be useless
+			return false;
+		}
+		if ( persistenceContext.isTransactionInProgress() || hasPendingChanges( persistenceContext ) ) {
+			// other Connections would not see the changes made (or yet to be flushed) within the Session
+			return false;
+		}
+		return areAllConcrete();
+	}
+
+	/**
+	 * Might the Session hold changes not visible to other Connections?  Conservatively any
+	 * (modifiable) managed entity counts, as its changes are only known once flushed.
+	 */
+	private static boolean hasPendingChanges(SharedSessionContractImplementor persistenceContext) {
+		if ( persistenceContext.getPersistenceContext().hasNonReadOnlyEntities() ) {
+			return true;
+		}
+		return persistenceContext instanceof SessionImplementor
+				&& ( (SessionImplementor) persistenceContext ).getActionQueue().hasAnyQueuedActions();
+	}
+
+	private List<R> performParallelList(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		final QueryEngine queryEngine = executionContext.getQueryEngine();
+		final int maxConcurrency = queryEngine.getParallelExecutionMaxConcurrency();
+
+		final List<R> overallResults = new ArrayList<>();
+		int position = 0;
+		while ( position < aggregatedQueryPlans.length ) {
+			final int end = Math.min( aggregatedQueryPlans.length, position + maxConcurrency );
+			final int executed = performConcurrently(
+					position,
+					end,
+					queryEngine.getParallelExecutor(),
+					persistenceContext,
+					queryOptions,
+					inputParameterBindings,
+					overallResults
+			);
+			position += executed;
+			if ( position < end ) {
+				log.debugf( "Unable to obtain Connections for parallel execution, executing remaining %s queries serially", aggregatedQueryPlans.length - position );
+				break;
+			}
+		}
+
+		// the remaining queries (if any) are executed on the Session's Connection
+		for ( ; position < aggregatedQueryPlans.length; position++ ) {
 			overallResults.addAll(
-					aggregatedQueryPlan.performList( persistenceContext, executionContext, queryOptions, inputParameterBindings )
+					aggregatedQueryPlans[position].performList(
+							persistenceContext,
+							executionContext,
+							queryOptions,
+							inputParameterBindings
+					)
 			);
 		}
 
 		return overallResults;
 	}
 
+	/**
+	 * Execute the concrete queries in the given range concurrently, adding their results.  Stops
+	 * at the first query for which no Connection can be obtained.
+	 *
+	 * @return The number of queries executed
+	 */
+	private int performConcurrently(
+			int from,
+			int to,
+			Executor executor,
+			SharedSessionContractImplementor persistenceContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings,
+			List<R> overallResults) {
+		final List<DetachedJdbcSelectExecution> executions = new ArrayList<>( to - from );
+		final List<CompletableFuture<Void>> futures = new ArrayList<>( to - from );
+
+		try {
+			// preparing (binding) uses the Session, so happens here
+			for ( int i = from; i < to; i++ ) {
+				final DetachedJdbcSelectExecution execution = concretePlan( i ).prepareDetachedList(
+						persistenceContext,
+						queryOptions,
+						inputParameterBindings
+				);
+				if ( execution == null ) {
+					break;
+				}
+				executions.add( execution );
+			}
+
+			for ( DetachedJdbcSelectExecution execution : executions ) {
+				futures.add( CompletableFuture.runAsync( execution::execute, executor ) );
+			}
+
+			for ( int i = 0; i < executions.size(); i++ ) {
+				join( futures.get( i ) );
+				overallResults.addAll( concretePlan( from + i ).performList( executions.get( i ), persistenceContext, queryOptions ) );
+			}
+			return executions.size();
+		}
+		finally {
+			// on failure, other executions may still be running
+			for ( CompletableFuture<Void> future : futures ) {
+				try {
+					future.join();
+				}
+				catch (RuntimeException ignore) {
+				}
+			}
+			for ( DetachedJdbcSelectExecution execution : executions ) {
+				execution.release();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private ConcreteSqmSelectQueryPlan<R> concretePlan(int index) {
+		return (ConcreteSqmSelectQueryPlan<R>) aggregatedQueryPlans[index];
+	}
+
+	private static void join(CompletableFuture future) {
+		try {
+			future.join();
+		}
+		catch (CompletionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
 	@Override
 	public Iterator<R> performIterate(
 			SharedSessionContractImplementor persistenceContext,
@@ -63,4 +424,87 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 			ScrollMode scrollMode) {
 		return null;
 	}
+
+	/**
+	 * QueryOptions overriding the Limit
+	 */
+	private static class LimitOverridingQueryOptions implements QueryOptions {
+		private final QueryOptions delegate;
+		private final Limit limit;
+
+		private LimitOverridingQueryOptions(QueryOptions delegate, Limit limit) {
+			this.delegate = delegate;
+			this.limit = limit;
+		}
+
+		@Override
+		public Limit getLimit() {
+			return limit;
+		}
+
+		@Override
+		public Integer getFetchSize() {
+			return delegate.getFetchSize();
+		}
+
+		@Override
+		public String getComment() {
+			return delegate.getComment();
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return delegate.getLockOptions();
+		}
+
+		@Override
+		public List<String> getDatabaseHints() {
+			return delegate.getDatabaseHints();
+		}
+
+		@Override
+		public Integer getTimeout() {
+			return delegate.getTimeout();
+		}
+
+		@Override
+		public FlushMode getFlushMode() {
+			return delegate.getFlushMode();
+		}
+
+		@Override
+		public Boolean isReadOnly() {
+			return delegate.isReadOnly();
+		}
+
+		@Override
+		public CacheMode getCacheMode() {
+			return delegate.getCacheMode();
+		}
+
+		@Override
+		public Boolean isResultCachingEnabled() {
+			return delegate.isResultCachingEnabled();
+		}
+
+		@Override
+		public String getResultCacheRegionName() {
+			return delegate.getResultCacheRegionName();
+		}
+
+		@Override
+		public TupleTransformer getTupleTransformer() {
+			return delegate.getTupleTransformer();
+		}
+
+		@Override
+		public ResultListTransformer getResultListTransformer() {
+			return delegate.getResultListTransformer();
+		}
+
+		@Override
+		public boolean isRowRecyclingEnabled() {
+			return delegate.isRowRecyclingEnabled();
+		}
+	}
 }
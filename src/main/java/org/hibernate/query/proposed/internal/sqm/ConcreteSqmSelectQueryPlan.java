@@ -14,14 +14,16 @@ import javax.persistence.Tuple;
 import javax.persistence.TupleElement;
 
 import org.hibernate.ScrollMode;
-import org.hibernate.cfg.NotYetImplementedException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.collections.streams.StingArrayCollector;
 import org.hibernate.persister.common.spi.SqmTypeImplementor;
 import org.hibernate.query.proposed.IllegalQueryOperationException;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.TupleBuilder;
+import org.hibernate.query.proposed.internal.EntityBatchLoadingIterator;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
@@ -29,18 +31,24 @@ import org.hibernate.query.proposed.spi.SelectQueryPlan;
 import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.convert.spi.Callback;
 import org.hibernate.sql.convert.spi.SelectStatementInterpreter;
+import org.hibernate.sql.convert.spi.SqlTreeWalker;
+import org.hibernate.sql.exec.internal.AdaptiveFetchSize;
+import org.hibernate.sql.exec.internal.DetachedJdbcSelectExecution;
 import org.hibernate.sql.exec.internal.PreparedStatementCreatorScrollableForwardOnlyImpl;
 import org.hibernate.sql.exec.internal.PreparedStatementCreatorScrollableInsensitiveImpl;
 import org.hibernate.sql.exec.internal.PreparedStatementCreatorScrollableSensitiveImpl;
 import org.hibernate.sql.exec.internal.PreparedStatementCreatorStandardImpl;
 import org.hibernate.sql.exec.internal.PreparedStatementExecutorNormalImpl;
 import org.hibernate.sql.exec.internal.PreparedStatementExecutorScrollableImpl;
+import org.hibernate.sql.exec.internal.PreparedStatementExecutorSortKeyedImpl;
 import org.hibernate.sql.exec.internal.RowTransformerPassThruImpl;
 import org.hibernate.sql.exec.internal.RowTransformerSingularReturnImpl;
 import org.hibernate.sql.exec.internal.RowTransformerTupleImpl;
 import org.hibernate.sql.exec.internal.RowTransformerTupleTransformerAdapter;
+import org.hibernate.sql.exec.internal.SortKeyedRowCursor;
 import org.hibernate.sql.exec.internal.SqlTreeExecutorImpl;
 import org.hibernate.sql.exec.internal.TupleElementImpl;
+import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.exec.spi.PreparedStatementCreator;
 import org.hibernate.sql.exec.spi.RowTransformer;
 import org.hibernate.sqm.query.SqmSelectStatement;
@@ -54,6 +62,19 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 	private final EntityGraphQueryHint entityGraphHint;
 	private final RowTransformer<R> rowTransformer;
 
+	// The SQL AST and its rendering are cached (lazily) for the life of the plan.  The
+	// SQL AST depends only on the SQM; the rendering additionally depends on the Types
+	// and (IN-list) value counts of the parameter bindings, so we re-render when those change (see JdbcSelect#isCompatibleWith)
+	private volatile SelectQuery sqlTree;
+	private volatile JdbcSelect jdbcSelect;
+	// the shallow rendering (entity selections select just the id), used for Query#iterate
+	private volatile JdbcSelect shallowJdbcSelect;
+	// the rendering additionally selecting the ORDER BY values, used to merge split query results
+	private volatile JdbcSelect sortKeyedJdbcSelect;
+
+	// the fetch size is derived from the row counts of previous (list) executions; see #resolveAdaptiveFetchSize
+	private volatile AdaptiveFetchSize adaptiveFetchSize;
+
 	public ConcreteSqmSelectQueryPlan(
 			SqmSelectStatement sqm,
 			EntityGraphQueryHint entityGraphHint,
@@ -146,6 +167,15 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 		);
 	}
 
+	@Override
+	public void prepare(
+			SessionFactoryImplementor sessionFactory,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		verifyQueryIsSelect();
+		resolveJdbcSelect( sessionFactory, queryOptions, inputParameterBindings, false );
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public List<R> performList(
@@ -155,21 +185,180 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			QueryParameterBindings inputParameterBindings) {
 		verifyQueryIsSelect();
 
-		final Callback callback = new Callback() {};
-
-		// todo : SelectStatementInterpreter needs to account for the EntityGraph hint
-		final SelectQuery sqlTree = SelectStatementInterpreter.interpret( sqm, queryOptions, callback );
-		return (List<R>) new SqlTreeExecutorImpl().executeSelect(
-				sqlTree,
+		final AdaptiveFetchSize adaptiveFetchSize = resolveAdaptiveFetchSize( persistenceContext );
+		final List<R> results = (List<R>) new SqlTreeExecutorImpl( adaptiveFetchSize ).executeSelect(
+				resolveJdbcSelect( persistenceContext.getFactory(), queryOptions, inputParameterBindings, false ),
 				PreparedStatementCreatorStandardImpl.INSTANCE,
 				PreparedStatementExecutorNormalImpl.INSTANCE,
 				queryOptions,
 				inputParameterBindings,
 				rowTransformer,
-				callback,
 				persistenceContext,
 				executionContext
 		);
+
+		// only list executions are recorded : iterate/scroll results are commonly consumed only partially
+		adaptiveFetchSize.recordRowCount( results.size(), queryOptions.getLimit().getMaxRows() );
+		return results;
+	}
+
+	/**
+	 * Prepare a list execution on a Connection of its own, which can then be executed on
+	 * another thread; see {@link #performList(DetachedJdbcSelectExecution, SharedSessionContractImplementor, QueryOptions)}
+	 *
+	 * @return The execution, or {@code null} if no Connection could be obtained for it
+	 */
+	public DetachedJdbcSelectExecution prepareDetachedList(
+			SharedSessionContractImplementor persistenceContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		verifyQueryIsSelect();
+
+		return DetachedJdbcSelectExecution.prepare(
+				resolveJdbcSelect( persistenceContext.getFactory(), queryOptions, inputParameterBindings, false ),
+				queryOptions,
+				inputParameterBindings,
+				resolveAdaptiveFetchSize( persistenceContext ),
+				persistenceContext
+		);
+	}
+
+	/**
+	 * Read the results of an executed {@link #prepareDetachedList detached} list execution
+	 */
+	public List<R> performList(
+			DetachedJdbcSelectExecution execution,
+			SharedSessionContractImplementor persistenceContext,
+			QueryOptions queryOptions) {
+		final List<R> results = execution.read( queryOptions, rowTransformer, persistenceContext );
+		resolveAdaptiveFetchSize( persistenceContext ).recordRowCount( results.size(), queryOptions.getLimit().getMaxRows() );
+		return results;
+	}
+
+	/**
+	 * Execute the query additionally selecting its ORDER BY values, returning a cursor
+	 * allowing to merge the (ordered) results with those of other queries.
+	 *
+	 * @return The cursor, or {@code null} if the ORDER BY values cannot be selected as
+	 * sort keys (no ORDER BY, multi-column sort expressions)
+	 */
+	@SuppressWarnings("unchecked")
+	public SortKeyedRowCursor<R> performSortKeyedScroll(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		verifyQueryIsSelect();
+
+		final JdbcSelect sortKeyedSelect = resolveJdbcSelect(
+				persistenceContext.getFactory(),
+				queryOptions,
+				inputParameterBindings,
+				Rendering.SORT_KEYED
+		);
+		if ( sortKeyedSelect.getSortKeys().isEmpty() ) {
+			return null;
+		}
+
+		return new SqlTreeExecutorImpl( resolveAdaptiveFetchSize( persistenceContext ) ).executeSelect(
+				sortKeyedSelect,
+				PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE,
+				new PreparedStatementExecutorSortKeyedImpl<>( sortKeyedSelect.getSortKeys() ),
+				queryOptions,
+				inputParameterBindings,
+				rowTransformer,
+				persistenceContext,
+				executionContext
+		);
+	}
+
+	private AdaptiveFetchSize resolveAdaptiveFetchSize(SharedSessionContractImplementor persistenceContext) {
+		AdaptiveFetchSize existing = adaptiveFetchSize;
+		if ( existing == null ) {
+			existing = AdaptiveFetchSize.from( persistenceContext.getFactory() );
+			adaptiveFetchSize = existing;
+		}
+		return existing;
+	}
+
+	private JdbcSelect resolveJdbcSelect(
+			SessionFactoryImplementor sessionFactory,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings,
+			boolean shallow) {
+		return resolveJdbcSelect(
+				sessionFactory,
+				queryOptions,
+				inputParameterBindings,
+				shallow ? Rendering.SHALLOW : Rendering.STANDARD
+		);
+	}
+
+	private JdbcSelect resolveJdbcSelect(
+			SessionFactoryImplementor sessionFactory,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings,
+			Rendering rendering) {
+		final Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+		final JdbcSelect existing;
+		switch ( rendering ) {
+			case SHALLOW: {
+				existing = shallowJdbcSelect;
+				break;
+			}
+			case SORT_KEYED: {
+				existing = sortKeyedJdbcSelect;
+				break;
+			}
+			default: {
+				existing = jdbcSelect;
+			}
+		}
+		if ( existing != null && existing.isCompatibleWith( inputParameterBindings, dialect ) ) {
+			return existing;
+		}
+
+		// NOTE : no need to synchronize - at worst concurrent executions each render
+		// the same SQL and the last one "wins"
+		final SqlTreeWalker sqlTreeWalker = new SqlTreeWalker(
+				sessionFactory,
+				inputParameterBindings,
+				rendering == Rendering.SHALLOW,
+				rendering == Rendering.SORT_KEYED
+		);
+		sqlTreeWalker.visitSelectQuery( resolveSqlTree( queryOptions ) );
+
+		final JdbcSelect rendered = sqlTreeWalker.toJdbcSelect();
+		switch ( rendering ) {
+			case SHALLOW: {
+				shallowJdbcSelect = rendered;
+				break;
+			}
+			case SORT_KEYED: {
+				sortKeyedJdbcSelect = rendered;
+				break;
+			}
+			default: {
+				jdbcSelect = rendered;
+			}
+		}
+		return rendered;
+	}
+
+	private enum Rendering {
+		STANDARD,
+		SHALLOW,
+		SORT_KEYED
+	}
+
+	private SelectQuery resolveSqlTree(QueryOptions queryOptions) {
+		SelectQuery existing = sqlTree;
+		if ( existing == null ) {
+			// todo : SelectStatementInterpreter needs to account for the EntityGraph hint
+			existing = SelectStatementInterpreter.interpret( sqm, queryOptions, new Callback() {} );
+			sqlTree = existing;
+		}
+		return existing;
 	}
 
 	private void verifyQueryIsSelect() {
@@ -181,6 +370,7 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Iterator<R> performIterate(
 			SharedSessionContractImplementor persistenceContext,
 			ExecutionContext executionContext,
@@ -188,8 +378,34 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			QueryParameterBindings inputParameterBindings) {
 		verifyQueryIsSelect();
 
-		// todo : implement
-		throw new NotYetImplementedException( "Query#iterate not yet implemented" );
+		// select just the ids of the selected entities, and load the entities (by id) in
+		// batches as the iterator is consumed.  The rows are transformed after the
+		// entities are loaded, so the shallow rows are read untransformed
+		final JdbcSelect shallowSelect = resolveJdbcSelect( persistenceContext.getFactory(), queryOptions, inputParameterBindings, true );
+		final ScrollableResultsImplementor scrollableResults = (ScrollableResultsImplementor) new SqlTreeExecutorImpl( resolveAdaptiveFetchSize( persistenceContext ) ).executeSelect(
+				shallowSelect,
+				PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE,
+				PreparedStatementExecutorScrollableImpl.INSTANCE,
+				queryOptions,
+				inputParameterBindings,
+				RowTransformerPassThruImpl.INSTANCE,
+				persistenceContext,
+				executionContext
+		);
+
+		return new EntityBatchLoadingIterator<>(
+				scrollableResults,
+				shallowSelect.getReturns(),
+				rowTransformer,
+				determineIterateBatchSize( persistenceContext ),
+				queryOptions.getLockOptions(),
+				persistenceContext
+		);
+	}
+
+	private static int determineIterateBatchSize(SharedSessionContractImplementor persistenceContext) {
+		final int defaultBatchFetchSize = persistenceContext.getFactory().getSessionFactoryOptions().getDefaultBatchFetchSize();
+		return defaultBatchFetchSize > 1 ? defaultBatchFetchSize : EntityBatchLoadingIterator.DEFAULT_BATCH_SIZE;
 	}
 
 	@Override
@@ -202,11 +418,6 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			ScrollMode scrollMode) {
 		verifyQueryIsSelect();
 
-		final Callback callback = new Callback() {};
-
-		// todo : SelectStatementInterpreter needs to account for the EntityGraph hint
-		final SelectQuery sqlTree = SelectStatementInterpreter.interpret( sqm, queryOptions, callback );
-
 		final PreparedStatementCreator creator;
 		if ( scrollMode == ScrollMode.FORWARD_ONLY ) {
 			creator = PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE;
@@ -218,14 +429,15 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			creator = PreparedStatementCreatorScrollableInsensitiveImpl.INSTANCE;
 		}
 
-		return (ScrollableResultsImplementor) new SqlTreeExecutorImpl().executeSelect(
-				sqlTree,
+		return (ScrollableResultsImplementor) new SqlTreeExecutorImpl( resolveAdaptiveFetchSize( persistenceContext ) ).executeSelect(
+				resolveJdbcSelect( persistenceContext.getFactory(), queryOptions, inputParameterBindings, false ),
 				creator,
-				PreparedStatementExecutorScrollableImpl.INSTANCE,
+				queryOptions.isRowRecyclingEnabled()
+						? PreparedStatementExecutorScrollableImpl.RECYCLING_INSTANCE
+						: PreparedStatementExecutorScrollableImpl.INSTANCE,
 				queryOptions,
 				inputParameterBindings,
 				rowTransformer,
-				callback,
 				persistenceContext,
 				executionContext
 		);
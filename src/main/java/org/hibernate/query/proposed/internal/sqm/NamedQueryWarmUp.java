@@ -0,0 +1,327 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
+import org.hibernate.QueryException;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.common.spi.SqmTypeImplementor;
+import org.hibernate.query.proposed.internal.QueryOptionsImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.spi.NamedQueryRepository;
+import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.QueryParameterBindingTypeResolver;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+import org.hibernate.sqm.ConsumerContext;
+import org.hibernate.sqm.SemanticQueryInterpreter;
+import org.hibernate.sqm.query.SqmSelectStatement;
+import org.hibernate.sqm.query.SqmStatement;
+import org.hibernate.sqm.query.select.SqmSelection;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Interprets the named (HQL) queries ahead of their first execution : the SQM of each
+ * named query is built and, for selects, the {@link SelectQueryPlan} is built, its SQL
+ * rendered and the {@link QueryInterpretations} seeded with it.  The plans are seeded for
+ * untyped executions and, for a single selection, for executions typed as the selection's
+ * Java type (e.g. {@code createNamedQuery( name, String.class )} for a String selection).
+ * <p/>
+ * The QueryInterpretations are keyed by the SQM, so the named queries must be created
+ * using the SQM {@link #getSqmStatement obtained} from here for executions to find the
+ * seeded plans, as {@link org.hibernate.query.proposed.spi.QueryEngine#createNamedQuery} does.
+ * The QueryEngine {@link #start() starts} the warm up as it is built.
+ * <p/>
+ * When the warm up happens is controlled by {@link #WARM_UP}; see {@link WarmUpMode}.  A
+ * warm up in progress is {@link #close() stopped} as the QueryEngine is closed.
+ *
+ * @author agent
+ */
+public class NamedQueryWarmUp {
+	private static final Logger log = Logger.getLogger( NamedQueryWarmUp.class );
+
+	/**
+	 * Setting for when to warm up the named queries; see {@link WarmUpMode}.  Defaults
+	 * to {@link WarmUpMode#LAZY}
+	 */
+	public static final String WARM_UP = "hibernate.query.named_query_warm_up";
+
+	public enum WarmUpMode {
+		/**
+		 * All named queries are interpreted (in parallel) as part of {@link #start()}
+		 */
+		EAGER,
+		/**
+		 * All named queries are interpreted (one at a time) by a background thread; until
+		 * then named queries are interpreted on first use
+		 */
+		BACKGROUND,
+		/**
+		 * Named queries are interpreted on first use
+		 */
+		LAZY;
+
+		public static WarmUpMode interpret(Object setting) {
+			if ( setting == null ) {
+				return LAZY;
+			}
+			if ( setting instanceof WarmUpMode ) {
+				return (WarmUpMode) setting;
+			}
+			return valueOf( setting.toString().trim().toUpperCase( Locale.ROOT ) );
+		}
+	}
+
+	private final SessionFactoryImplementor sessionFactory;
+	private final NamedQueryRepository namedQueryRepository;
+	private final ConsumerContext consumerContext;
+	private final QueryInterpretations queryInterpretations;
+	private final WarmUpMode warmUpMode;
+
+	// keyed by the definition (rather than its name) as a definition may be replaced
+	private final Map<NamedQueryDefinition,SqmStatement> sqmStatementMap = new ConcurrentHashMap<>();
+
+	// the thread of a BACKGROUND warm up; guarded by this
+	private ExecutorService backgroundExecutor;
+	private volatile boolean closed;
+
+	public NamedQueryWarmUp(
+			SessionFactoryImplementor sessionFactory,
+			NamedQueryRepository namedQueryRepository,
+			ConsumerContext consumerContext,
+			QueryInterpretations queryInterpretations) {
+		this.sessionFactory = sessionFactory;
+		this.namedQueryRepository = namedQueryRepository;
+		this.consumerContext = consumerContext;
+		this.queryInterpretations = queryInterpretations;
+		this.warmUpMode = WarmUpMode.interpret( sessionFactory.getProperties().get( WARM_UP ) );
+	}
+
+	public WarmUpMode getWarmUpMode() {
+		return warmUpMode;
+	}
+
+	/**
+	 * Start the warm up according to the {@link #getWarmUpMode() mode}
+	 *
+	 * @return The failures (keyed by query name) once the warm up is done.  Completes immediately
+	 * (with no failures) for {@link WarmUpMode#LAZY}.
+	 */
+	public CompletableFuture<Map<String,HibernateException>> start() {
+		switch ( warmUpMode ) {
+			case EAGER: {
+				return CompletableFuture.completedFuture( warmUp() );
+			}
+			case BACKGROUND: {
+				return startBackgroundWarmUp();
+			}
+			default: {
+				return CompletableFuture.completedFuture( Collections.emptyMap() );
+			}
+		}
+	}
+
+	private synchronized CompletableFuture<Map<String,HibernateException>> startBackgroundWarmUp() {
+		if ( closed ) {
+			return CompletableFuture.completedFuture( Collections.emptyMap() );
+		}
+
+		// a dedicated thread (rather than the common pool) which does not outlive the warm up
+		backgroundExecutor = Executors.newSingleThreadExecutor(
+				runnable -> {
+					final Thread thread = new Thread( runnable, "hibernate-named-query-warm-up" );
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		final CompletableFuture<Map<String,HibernateException>> future = CompletableFuture.supplyAsync(
+				() -> warmUp( false ),
+				backgroundExecutor
+		);
+		backgroundExecutor.shutdown();
+		return future;
+	}
+
+	/**
+	 * Interpret all named queries, in parallel.  Failures are logged (and returned) per
+	 * query rather than failing the warm up.
+	 *
+	 * @return The failures, keyed by query name
+	 */
+	public Map<String,HibernateException> warmUp() {
+		return warmUp( true );
+	}
+
+	private Map<String,HibernateException> warmUp(boolean parallel) {
+		final Map<String,HibernateException> failures = new ConcurrentHashMap<>();
+
+		StreamSupport.stream( namedQueryRepository.getNamedQueryDefinitions().spliterator(), parallel ).forEach(
+				definition -> {
+					if ( closed ) {
+						return;
+					}
+					try {
+						warmUp( definition );
+					}
+					catch (RuntimeException e) {
+						log.warnf( "Unable to interpret named query [%s] : %s", definition.getName(), e.getMessage() );
+						failures.put(
+								definition.getName(),
+								e instanceof HibernateException
+										? (HibernateException) e
+										: new HibernateException( "Unable to interpret named query [" + definition.getName() + "]", e )
+						);
+					}
+				}
+		);
+
+		log.debugf( "Warmed up named queries; %s failure(s)", failures.size() );
+		return failures;
+	}
+
+	/**
+	 * Stop a warm up in progress : no further named queries are interpreted, and a
+	 * {@link WarmUpMode#BACKGROUND background} warm up's thread is interrupted.
+	 */
+	public void close() {
+		closed = true;
+
+		synchronized ( this ) {
+			if ( backgroundExecutor != null ) {
+				backgroundExecutor.shutdownNow();
+				backgroundExecutor = null;
+			}
+		}
+	}
+
+	/**
+	 * The SQM for the named query, interpreting it if not yet done
+	 *
+	 * @return The SQM, or {@code null} if there is no such named (HQL) query
+	 */
+	public SqmStatement getSqmStatement(String queryName) {
+		final NamedQueryDefinition definition = namedQueryRepository.getNamedQueryDefinition( queryName );
+		if ( definition == null ) {
+			return null;
+		}
+		return resolveSqmStatement( definition );
+	}
+
+	private SqmStatement resolveSqmStatement(NamedQueryDefinition definition) {
+		return sqmStatementMap.computeIfAbsent(
+				definition,
+				def -> SemanticQueryInterpreter.interpret( def.getQueryString(), consumerContext )
+		);
+	}
+
+	private void warmUp(NamedQueryDefinition definition) {
+		log.tracef( "Warming up named query : %s", definition.getName() );
+
+		final SqmStatement sqmStatement = resolveSqmStatement( definition );
+		if ( !( sqmStatement instanceof SqmSelectStatement ) ) {
+			return;
+		}
+
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		if ( definition.getLockOptions() != null ) {
+			LockOptions.copy( definition.getLockOptions(), queryOptions.getLockOptions() );
+		}
+
+		// the plans for untyped executions and for executions typed as the single selection,
+		// with no multi-valued bindings
+		warmUp( definition, (SqmSelectStatement) sqmStatement, null, queryOptions );
+		final Class resultType = resolveSelectionType( (SqmSelectStatement) sqmStatement );
+		if ( resultType != null ) {
+			warmUp( definition, (SqmSelectStatement) sqmStatement, resultType, queryOptions );
+		}
+	}
+
+	/**
+	 * The Java type of the query's single selection, if it has just one
+	 */
+	private static Class resolveSelectionType(SqmSelectStatement sqmStatement) {
+		final List<SqmSelection> selections = sqmStatement.getQuerySpec().getSelectClause().getSelections();
+		if ( selections.size() != 1 ) {
+			return null;
+		}
+
+		final Object expressionType = selections.get( 0 ).getExpression().getExpressionType();
+		if ( !( expressionType instanceof SqmTypeImplementor ) ) {
+			return null;
+		}
+		return ( (SqmTypeImplementor) expressionType ).getOrmType().getReturnedClass();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void warmUp(
+			NamedQueryDefinition definition,
+			SqmSelectStatement sqmStatement,
+			Class resultType,
+			QueryOptionsImpl queryOptions) {
+		final QueryInterpretations.Key cacheKey = SqmInterpretationsKey.generateFrom( sqmStatement, resultType, queryOptions );
+		if ( cacheKey == null || queryInterpretations.getSelectQueryPlan( cacheKey ) != null ) {
+			return;
+		}
+
+		final SelectQueryPlan plan = QuerySqmImpl.buildSelectQueryPlan(
+				sqmStatement,
+				resultType,
+				null,
+				queryOptions,
+				sessionFactory
+		);
+		try {
+			plan.prepare(
+					sessionFactory,
+					queryOptions,
+					QueryParameterBindingsImpl.from(
+							QuerySqmImpl.buildParameterMetadata( sqmStatement ),
+							UnboundParameterTypeResolver.INSTANCE
+					)
+			);
+		}
+		catch (QueryException e) {
+			// e.g. a parameter whose Type is only known once a value is bound; the SQL
+			// is then rendered on first execution
+			log.debugf( "Unable to render SQL for named query [%s] ahead of execution : %s", definition.getName(), e.getMessage() );
+		}
+
+		if ( !closed ) {
+			queryInterpretations.cacheSelectQueryPlan( cacheKey, plan );
+		}
+	}
+
+	/**
+	 * No values are bound while warming up
+	 */
+	private static class UnboundParameterTypeResolver implements QueryParameterBindingTypeResolver {
+		private static final UnboundParameterTypeResolver INSTANCE = new UnboundParameterTypeResolver();
+
+		@Override
+		public Type resolveParameterBindType(Object bindValue) {
+			throw new UnsupportedOperationException( "Binding values is not supported during named query warm up" );
+		}
+
+		@Override
+		public Type resolveParameterBindType(Class clazz) {
+			throw new UnsupportedOperationException( "Binding values is not supported during named query warm up" );
+		}
+	}
+}
@@ -18,7 +18,9 @@ import org.hibernate.LockMode;
 import org.hibernate.ScrollMode;
 import org.hibernate.cfg.NotYetImplementedException;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.jpa.graph.internal.EntityGraphImpl;
 import org.hibernate.query.proposed.ParameterMetadata;
 import org.hibernate.query.proposed.Query;
@@ -85,7 +87,7 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		this.parameterBindings = QueryParameterBindingsImpl.from( parameterMetadata, executionContext );
 	}
 
-	private static ParameterMetadataImpl buildParameterMetadata(SqmStatement sqm) {
+	static ParameterMetadataImpl buildParameterMetadata(SqmStatement sqm) {
 		Map<String, QueryParameter> namedQueryParameters = null;
 		Map<Integer, QueryParameter> positionalQueryParameters = null;
 
@@ -117,6 +119,16 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		return sqmStatement instanceof SqmSelectStatement;
 	}
 
+	@Override
+	protected boolean isOrdered() {
+		return isSelect() && isOrdered( (SqmSelectStatement) sqmStatement );
+	}
+
+	private static boolean isOrdered(SqmSelectStatement selectStatement) {
+		return selectStatement.getOrderByClause() != null
+				&& !selectStatement.getOrderByClause().getSortSpecifications().isEmpty();
+	}
+
 	@Override
 	public String getQueryString() {
 		return sourceQueryString;
@@ -271,22 +283,53 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 	}
 
 	private SelectQueryPlan<R> buildSelectQueryPlan() {
-		final SqmSelectStatement[] concreteSqmStatements = QuerySplitter.split( (SqmSelectStatement) getSqmStatement() );
+		return buildSelectQueryPlan(
+				(SqmSelectStatement) getSqmStatement(),
+				getResultType(),
+				getEntityGraphHint(),
+				getQueryOptions(),
+				persistenceContext.getFactory()
+		);
+	}
+
+	/**
+	 * Build the (possibly aggregated, if the query is polymorphic) plan for the given select
+	 */
+	static <R> SelectQueryPlan<R> buildSelectQueryPlan(
+			SqmSelectStatement sqmStatement,
+			Class<R> resultType,
+			EntityGraphQueryHint entityGraphHint,
+			QueryOptions queryOptions,
+			SessionFactoryImplementor sessionFactory) {
+		final SqmSelectStatement[] concreteSqmStatements = QuerySplitter.split( sqmStatement );
 		if ( concreteSqmStatements.length > 1 ) {
-			return buildAggregatedSelectQueryPlan( concreteSqmStatements );
+			return buildAggregatedSelectQueryPlan(
+					concreteSqmStatements,
+					resultType,
+					entityGraphHint,
+					queryOptions,
+					isOrdered( sqmStatement ),
+					sessionFactory
+			);
 		}
 		else {
 			return buildConcreteSelectQueryPlan(
 					concreteSqmStatements[0],
-					getResultType(),
-					getEntityGraphHint(),
-					getQueryOptions()
+					resultType,
+					entityGraphHint,
+					queryOptions
 			);
 		}
 	}
 
 	@SuppressWarnings("unchecked")
-	private SelectQueryPlan<R> buildAggregatedSelectQueryPlan(SqmSelectStatement[] concreteSqmStatements) {
+	private static <R> SelectQueryPlan<R> buildAggregatedSelectQueryPlan(
+			SqmSelectStatement[] concreteSqmStatements,
+			Class<R> resultType,
+			EntityGraphQueryHint entityGraphHint,
+			QueryOptions queryOptions,
+			boolean ordered,
+			SessionFactoryImplementor sessionFactory) {
 		final SelectQueryPlan[] aggregatedQueryPlans = new SelectQueryPlan[ concreteSqmStatements.length ];
 
 		// todo : we want to make sure that certain thing (ResultListTransformer, etc) only get applied at the aggregator-level
@@ -294,16 +337,24 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		for ( int i = 0, x = concreteSqmStatements.length; i < x; i++ ) {
 			aggregatedQueryPlans[i] = buildConcreteSelectQueryPlan(
 					concreteSqmStatements[i],
-					getResultType(),
-					getEntityGraphHint(),
-					getQueryOptions()
+					resultType,
+					entityGraphHint,
+					queryOptions
 			);
 		}
 
-		return new AggregatedSelectQueryPlanImpl( aggregatedQueryPlans );
+		return new AggregatedSelectQueryPlanImpl(
+				aggregatedQueryPlans,
+				ordered,
+				ConfigurationHelper.getBoolean(
+						AggregatedSelectQueryPlanImpl.PARALLEL_EXECUTION,
+						sessionFactory.getProperties(),
+						false
+				)
+		);
 	}
 
-	private SelectQueryPlan<R> buildConcreteSelectQueryPlan(
+	private static <R> SelectQueryPlan<R> buildConcreteSelectQueryPlan(
 			SqmSelectStatement concreteSqmStatement,
 			Class<R> resultType,
 			EntityGraphQueryHint entityGraphHint,
@@ -6,15 +6,20 @@
  */
 package org.hibernate.query.proposed.internal.sqm;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
-import org.hibernate.query.proposed.Limit;
-import org.hibernate.query.proposed.ParameterMetadata;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.QueryParameter;
 import org.hibernate.query.proposed.ResultListTransformer;
 import org.hibernate.query.proposed.TupleTransformer;
 import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.QueryParameterBinding;
+import org.hibernate.sql.convert.spi.Helper;
 import org.hibernate.sqm.query.SqmStatement;
 
 /**
@@ -29,21 +34,31 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		return new SqmInterpretationsKey(
 				query.getSqmStatement(),
 				query.getResultType(),
-				query.getQueryOptions()
+				query.getQueryOptions(),
+				resolveInListValueCounts( query )
 		);
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
-	private static boolean isCacheable(QuerySqmImpl query) {
-		if ( query.getEntityGraphHint() != null ) {
-			return false;
+	/**
+	 * Generate the key for executions of the given SQM (with the given options) which bind
+	 * no multi-valued parameters, e.g. to seed the cache ahead of the first execution.
+	 */
+	static SqmInterpretationsKey generateFrom(SqmStatement sqmStatement, Class resultType, QueryOptions queryOptions) {
+		if ( definesLocking( queryOptions.getLockOptions() ) ) {
+			return null;
 		}
 
-		if ( hasMultiValuedParameters( query.getParameterMetadata() ) ) {
-			return false;
-		}
+		return new SqmInterpretationsKey(
+				sqmStatement,
+				resultType,
+				queryOptions,
+				Collections.emptyMap()
+		);
+	}
 
-		if ( hasLimit( query.getQueryOptions().getLimit() ) ) {
+	@SuppressWarnings("RedundantIfStatement")
+	private static boolean isCacheable(QuerySqmImpl query) {
+		if ( query.getEntityGraphHint() != null ) {
 			return false;
 		}
 
@@ -54,17 +69,38 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		return true;
 	}
 
-	private static boolean hasMultiValuedParameters(ParameterMetadata parameterMetadata) {
-		for ( QueryParameter<?> queryParameter : parameterMetadata.collectAllParameters() ) {
-			if ( queryParameter.allowsMultiValuedBinding() ) {
-				return true;
+	/**
+	 * The SQL for a multi-valued binding depends on the number of values, so the
+	 * (padded, see {@link Helper#determinePaddedValueCount}) value count of each
+	 * multi-valued binding becomes part of the key.  The padding keeps the number of
+	 * distinct keys (and SQL shapes) per query small.
+	 */
+	private static Map<String,Integer> resolveInListValueCounts(QuerySqmImpl query) {
+		Map<String,Integer> valueCounts = null;
+
+		final Dialect dialect = query.getProducer().getFactory().getJdbcServices().getDialect();
+		for ( QueryParameter<?> queryParameter : query.getParameterMetadata().collectAllParameters() ) {
+			if ( !queryParameter.allowsMultiValuedBinding() ) {
+				continue;
 			}
+
+			final QueryParameterBinding<?> binding = query.getQueryParameterBindings().getBinding( queryParameter );
+			if ( binding == null || !binding.isMultiValued() ) {
+				continue;
+			}
+
+			if ( valueCounts == null ) {
+				valueCounts = new HashMap<>();
+			}
+			valueCounts.put(
+					queryParameter.getName() != null
+							? queryParameter.getName()
+							: String.valueOf( queryParameter.getPosition() ),
+					Helper.determineRenderedValueCount( binding, dialect )
+			);
 		}
-		return false;
-	}
 
-	private static boolean hasLimit(Limit limit) {
-		return limit.getFirstRow() != null || limit.getMaxRows() != null;
+		return valueCounts == null ? Collections.emptyMap() : valueCounts;
 	}
 
 	private static boolean definesLocking(LockOptions lockOptions) {
@@ -77,15 +113,18 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 	private final Class resultType;
 	private final TupleTransformer tupleTransformer;
 	private final ResultListTransformer resultListTransformer;
+	private final Map<String,Integer> inListValueCounts;
 
 	private SqmInterpretationsKey(
 			SqmStatement sqmStatement,
 			Class resultType,
-			QueryOptions queryOptions) {
+			QueryOptions queryOptions,
+			Map<String,Integer> inListValueCounts) {
 		this.sqmStatement = sqmStatement;
 		this.resultType = resultType;
 		this.tupleTransformer = queryOptions.getTupleTransformer();
 		this.resultListTransformer = queryOptions.getResultListTransformer();
+		this.inListValueCounts = inListValueCounts;
 	}
 
 	@Override
@@ -101,7 +140,8 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		return sqmStatement.equals( that.sqmStatement )
 				&& areEqual( resultType, that.resultType )
 				&& areEqual( tupleTransformer, that.tupleTransformer )
-				&& areEqual( resultListTransformer, that.resultListTransformer );
+				&& areEqual( resultListTransformer, that.resultListTransformer )
+				&& inListValueCounts.equals( that.inListValueCounts );
 	}
 
 	private <T> boolean areEqual(T o1, T o2) {
@@ -119,6 +159,7 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		result = 31 * result + ( resultType != null ? resultType.hashCode() : 0 );
 		result = 31 * result + ( tupleTransformer != null ? tupleTransformer.hashCode() : 0 );
 		result = 31 * result + ( resultListTransformer != null ? resultListTransformer.hashCode() : 0 );
+		result = 31 * result + inListValueCounts.hashCode();
 		return result;
 	}
 }
@@ -37,5 +37,12 @@ public interface ExecutionContext extends QueryParameterBindingTypeResolver {
 
 	void prepareForQueryExecution(boolean requiresTxn);
 
-	QueryInterpretations getQueryInterpretations();
+	/**
+	 * The SessionFactory-scoped query state
+	 */
+	QueryEngine getQueryEngine();
+
+	default QueryInterpretations getQueryInterpretations() {
+		return getQueryEngine().getQueryInterpretations();
+	}
 }
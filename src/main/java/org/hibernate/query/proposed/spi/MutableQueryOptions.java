@@ -51,6 +51,11 @@ public interface MutableQueryOptions extends QueryOptions {
 	 */
 	void setReadOnly(boolean readOnly);
 
+	/**
+	 * Corollary to {@link #isRowRecyclingEnabled()}
+	 */
+	void setRowRecyclingEnabled(boolean enabled);
+
 	/**
 	 * Corollary to {@link #getComment()}
 	 */
@@ -78,6 +78,13 @@ public class NamedQueryRepository {
 		return namedQueryDefinitionMap.get( queryName );
 	}
 
+	/**
+	 * All named (HQL) query definitions
+	 */
+	public Iterable<NamedQueryDefinition> getNamedQueryDefinitions() {
+		return namedQueryDefinitionMap.values();
+	}
+
 	public NamedSQLQueryDefinition getNamedSQLQueryDefinition(String queryName) {
 		return namedSqlQueryDefinitionMap.get( queryName );
 	}
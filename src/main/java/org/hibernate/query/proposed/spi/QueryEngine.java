@@ -0,0 +1,286 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.spi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.internal.sqm.NamedQueryWarmUp;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.sql.exec.internal.PreparedStatementCaching;
+import org.hibernate.sqm.ConsumerContext;
+import org.hibernate.sqm.query.SqmStatement;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The SessionFactory-scoped state used in performing queries, e.g. the {@link QueryInterpretations},
+ * the {@link PreparedStatementCaching}, the threads executing split queries in parallel and the
+ * named queries (warmed up, see {@link NamedQueryWarmUp}, as the QueryEngine is built).
+ * <p/>
+ * Really this should be part of the SessionFactory.  But because this PoC is being developed
+ * in isolation from ORM it is built separately, from the SessionFactory, and is closed along
+ * with the SessionFactory.  The {@link ExecutionContext} gives queries access to it.
+ *
+ * @author agent
+ */
+public class QueryEngine {
+	private static final Logger log = Logger.getLogger( QueryEngine.class );
+
+	/**
+	 * Setting for the maximum number of concrete queries of a split query executed concurrently
+	 * (see {@link org.hibernate.query.proposed.internal.sqm.AggregatedSelectQueryPlanImpl#PARALLEL_EXECUTION}),
+	 * and so of the Connections such an execution holds.  Also the number of threads executing
+	 * them for the SessionFactory.  Defaults to the number of processors.
+	 */
+	public static final String PARALLEL_EXECUTION_MAX_CONCURRENCY = "hibernate.query.split_parallel_execution_max_concurrency";
+
+	private final SessionFactoryImplementor sessionFactory;
+	private final QueryInterpretationsImpl queryInterpretations;
+	private final PreparedStatementCaching preparedStatementCaching;
+	private final int parallelExecutionMaxConcurrency;
+	private final NamedQueryRepository namedQueryRepository;
+	private final NamedQueryWarmUp namedQueryWarmUp;
+	private final CompletableFuture<Map<String,HibernateException>> namedQueryWarmUpFailures;
+
+	// built on first use; guarded by this
+	private ExecutorService parallelExecutor;
+
+	private volatile boolean closed;
+
+	/**
+	 * Build a QueryEngine without named queries
+	 */
+	public QueryEngine(SessionFactoryImplementor sessionFactory) {
+		this(
+				sessionFactory,
+				new NamedQueryRepository(
+						Collections.emptyList(),
+						Collections.emptyList(),
+						Collections.emptyList(),
+						Collections.emptyMap()
+				),
+				null
+		);
+	}
+
+	/**
+	 * Build a QueryEngine for the named (HQL) queries of the Metadata the SessionFactory was
+	 * built from
+	 *
+	 * @param consumerContext Used to interpret the named queries
+	 */
+	public QueryEngine(SessionFactoryImplementor sessionFactory, Metadata metadata, ConsumerContext consumerContext) {
+		this(
+				sessionFactory,
+				new NamedQueryRepository(
+						metadata.getNamedQueryDefinitions(),
+						Collections.emptyList(),
+						Collections.emptyList(),
+						Collections.emptyMap()
+				),
+				consumerContext
+		);
+	}
+
+	private QueryEngine(
+			SessionFactoryImplementor sessionFactory,
+			NamedQueryRepository namedQueryRepository,
+			ConsumerContext consumerContext) {
+		this.sessionFactory = sessionFactory;
+		this.queryInterpretations = new QueryInterpretationsImpl( sessionFactory.getProperties() );
+		this.preparedStatementCaching = new PreparedStatementCaching( sessionFactory.getProperties() );
+		this.parallelExecutionMaxConcurrency = Math.max(
+				1,
+				ConfigurationHelper.getInt(
+						PARALLEL_EXECUTION_MAX_CONCURRENCY,
+						sessionFactory.getProperties(),
+						Runtime.getRuntime().availableProcessors()
+				)
+		);
+
+		sessionFactory.addObserver( new CloseObserver() );
+
+		this.namedQueryRepository = namedQueryRepository;
+		this.namedQueryWarmUp = new NamedQueryWarmUp(
+				sessionFactory,
+				namedQueryRepository,
+				consumerContext,
+				queryInterpretations
+		);
+		this.namedQueryWarmUpFailures = namedQueryWarmUp.start();
+	}
+
+	public SessionFactoryImplementor getSessionFactory() {
+		return sessionFactory;
+	}
+
+	public QueryInterpretations getQueryInterpretations() {
+		return queryInterpretations;
+	}
+
+	public PreparedStatementCaching getPreparedStatementCaching() {
+		return preparedStatementCaching;
+	}
+
+	public int getParallelExecutionMaxConcurrency() {
+		return parallelExecutionMaxConcurrency;
+	}
+
+	public NamedQueryRepository getNamedQueryRepository() {
+		return namedQueryRepository;
+	}
+
+	/**
+	 * The named queries which could not be interpreted, keyed by name, once the warm up
+	 * of the named queries is done.  A warm up stopped by {@link #close()} does not report
+	 * the queries it did not get to.
+	 */
+	public CompletableFuture<Map<String,HibernateException>> getNamedQueryWarmUpFailures() {
+		return namedQueryWarmUpFailures;
+	}
+
+	/**
+	 * Create a query from the named (HQL) query definition, using its warmed up SQM (so
+	 * that executions find the plans seeded into the QueryInterpretations) and applying
+	 * the options of the definition
+	 *
+	 * @throws IllegalArgumentException If there is no such named query
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> QueryImplementor<R> createNamedQuery(
+			String name,
+			Class<R> resultClass,
+			SharedSessionContractImplementor session,
+			QueryProducerImplementor producer,
+			ExecutionContext executionContext) {
+		final NamedQueryDefinition definition = namedQueryRepository.getNamedQueryDefinition( name );
+		final SqmStatement sqmStatement = namedQueryWarmUp.getSqmStatement( name );
+		if ( definition == null || sqmStatement == null ) {
+			throw new IllegalArgumentException( "No query defined for that name [" + name + "]" );
+		}
+
+		final QuerySqmImpl<R> query = new QuerySqmImpl<>(
+				definition.getQueryString(),
+				sqmStatement,
+				resultClass,
+				session,
+				producer,
+				executionContext
+		);
+		applyDefinition( query, definition );
+		return query;
+	}
+
+	private static void applyDefinition(QueryImplementor query, NamedQueryDefinition definition) {
+		query.setComment( definition.getComment() != null ? definition.getComment() : definition.getName() );
+		if ( definition.getFlushMode() != null ) {
+			query.setHibernateFlushMode( definition.getFlushMode() );
+		}
+		if ( definition.getCacheMode() != null ) {
+			query.setCacheMode( definition.getCacheMode() );
+		}
+		query.setCacheable( definition.isCacheable() );
+		query.setCacheRegion( definition.getCacheRegion() );
+		if ( definition.isReadOnly() ) {
+			query.setReadOnly( true );
+		}
+		if ( definition.getTimeout() != null ) {
+			query.setTimeout( definition.getTimeout() );
+		}
+		if ( definition.getFetchSize() != null ) {
+			query.setFetchSize( definition.getFetchSize() );
+		}
+		if ( definition.getFirstResult() != null ) {
+			query.setFirstResult( definition.getFirstResult() );
+		}
+		if ( definition.getMaxResults() != null ) {
+			query.setMaxResults( definition.getMaxResults() );
+		}
+		if ( definition.getLockOptions() != null ) {
+			query.setLockOptions( definition.getLockOptions() );
+		}
+	}
+
+	/**
+	 * The threads executing the concrete queries of split queries in parallel; these block
+	 * on JDBC, so not the common pool.  Shut down as the SessionFactory is closed.
+	 */
+	public synchronized ExecutorService getParallelExecutor() {
+		if ( closed ) {
+			throw new IllegalStateException( "QueryEngine is closed" );
+		}
+
+		if ( parallelExecutor == null ) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+					parallelExecutionMaxConcurrency,
+					parallelExecutionMaxConcurrency,
+					60L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable -> {
+						final Thread thread = new Thread( runnable, "hibernate-split-query-" + threadCount.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
+					}
+			);
+			executor.allowCoreThreadTimeOut( true );
+			parallelExecutor = executor;
+		}
+		return parallelExecutor;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Release the state held; called as the SessionFactory is closed
+	 */
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+
+		log.trace( "Closing QueryEngine" );
+		namedQueryWarmUp.close();
+		queryInterpretations.cleanup();
+		preparedStatementCaching.close();
+
+		synchronized ( this ) {
+			if ( parallelExecutor != null ) {
+				// executions in progress are allowed to finish
+				parallelExecutor.shutdown();
+				parallelExecutor = null;
+			}
+		}
+	}
+
+	private class CloseObserver implements SessionFactoryObserver {
+		@Override
+		public void sessionFactoryClosed(SessionFactory factory) {
+			close();
+		}
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.query.proposed.spi;
 
+import java.util.List;
+
 import org.hibernate.Incubating;
 import org.hibernate.ScrollableResults;
 
@@ -18,4 +20,44 @@ import org.hibernate.ScrollableResults;
 public interface ScrollableResultsImplementor extends ScrollableResults {
 	boolean isClosed();
 	int getNumberOfTypes();
+
+	/**
+	 * The current row as produced by the query's RowTransformer, without the
+	 * Object[] packaging done by {@link #get()}.  {@code null} if not positioned
+	 * on a row.
+	 */
+	Object getCurrentRow();
+
+	/**
+	 * Can rows be assembled from detached JDBC values ({@link #assembleRow}) on threads
+	 * other than the one scrolling?  Only if assembling (and transforming) the rows never
+	 * accesses the Session : scalar returns and dynamic instantiations of scalars, with
+	 * no row recycling.
+	 */
+	boolean isDetachedAssemblySupported();
+
+	/**
+	 * Is the current row a single, re-used row array (or built over one), and so only
+	 * valid until the next row is read?  See {@link org.hibernate.query.proposed.Query#setRowRecyclingEnabled}
+	 */
+	boolean isRowRecycled();
+
+	/**
+	 * Read the JDBC values of (up to) the next {@code batchSize} rows, moving the
+	 * position past them.  The rows are not assembled; see {@link #assembleRow}.
+	 *
+	 * @return The JDBC values, one array per row.  Fewer than {@code batchSize}
+	 * (possibly none) when the end of the results is reached.
+	 */
+	List<Object[]> readJdbcValues(int batchSize);
+
+	/**
+	 * Assemble the row (as produced by the query's RowTransformer) from JDBC values
+	 * obtained from {@link #readJdbcValues}.  Does not access the underlying ResultSet,
+	 * nor the Session, and so may be called from threads other than the one scrolling.
+	 *
+	 * @throws IllegalStateException If {@link #isDetachedAssemblySupported() not supported},
+	 * or if closed
+	 */
+	Object assembleRow(Object[] jdbcValues);
 }
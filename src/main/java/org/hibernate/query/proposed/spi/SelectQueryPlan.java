@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.hibernate.ScrollMode;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.QueryOptions;
 
@@ -19,6 +20,15 @@ import org.hibernate.query.proposed.QueryOptions;
  * @author Steve Ebersole
  */
 public interface SelectQueryPlan<R> {
+	/**
+	 * Perform the interpretation (SQL AST, rendered SQL) the executions need ahead of the
+	 * first execution, e.g. to warm up the plans of named queries.
+	 */
+	void prepare(
+			SessionFactoryImplementor sessionFactory,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings);
+
 	List<R> performList(
 			SharedSessionContractImplementor persistenceContext,
 			ExecutionContext executionContext,
@@ -8,9 +8,12 @@ package org.hibernate.sql.ast.expression;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.spi.QueryParameterBinding;
+import org.hibernate.sql.convert.spi.Helper;
 import org.hibernate.sql.convert.spi.ParameterSpec;
 import org.hibernate.sql.spi.ParameterBinder;
 import org.hibernate.type.Type;
@@ -63,6 +66,12 @@ public abstract class AbstractParameter extends SelfReadingExpressionSupport imp
 			else {
 				bindType = valueBinding.getBindType();
 			}
+			if ( valueBinding.isMultiValued() ) {
+				if ( bindType == null ) {
+					unresolvedType();
+				}
+				return bindParameterValues( statement, startPosition, bindType, valueBinding.getBindValues(), session );
+			}
 			bindValue = valueBinding.getBindValue();
 		}
 
@@ -78,6 +87,34 @@ public abstract class AbstractParameter extends SelfReadingExpressionSupport imp
 		return bindType.getColumnSpan( session.getFactory() );
 	}
 
+	private int bindParameterValues(
+			PreparedStatement statement,
+			int startPosition,
+			Type bindType,
+			Collection bindValues,
+			SharedSessionContractImplementor session) throws SQLException {
+		// bind the same (padded) number of values that SqlTreeWalker rendered placeholders for
+		final int valueCount = Helper.determinePaddedValueCount(
+				bindValues.size(),
+				session.getFactory().getJdbcServices().getDialect()
+		);
+		final int columnSpan = bindType.getColumnSpan( session.getFactory() );
+
+		final Iterator valueItr = bindValues.iterator();
+		Object bindValue = null;
+		int position = startPosition;
+		for ( int i = 0; i < valueCount; i++ ) {
+			// the padding repeats the last value, which does not change the meaning of the IN-list
+			if ( valueItr.hasNext() ) {
+				bindValue = valueItr.next();
+			}
+			bindType.nullSafeSet( statement, bindValue, position, session );
+			position += columnSpan;
+		}
+
+		return position - startPosition;
+	}
+
 	protected abstract void warnNoBinding();
 
 	protected abstract void unresolvedType();
@@ -6,20 +6,35 @@
  */
 package org.hibernate.sql.ast.expression;
 
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.ast.from.ColumnBinding;
 import org.hibernate.sql.convert.spi.SqlTreeWalker;
+import org.hibernate.sql.exec.results.internal.ReturnReaderShallowEntityImpl;
+import org.hibernate.sql.exec.results.spi.ReturnReader;
 import org.hibernate.type.Type;
 
 /**
  * @author Andrea Boriero
  */
 public class EntityReference extends SelfReadingExpressionSupport {
+	private final ImprovedEntityPersister improvedEntityPersister;
 	private final Type ormType;
 	private final ColumnBinding[]  columnBindings;
+	private final ColumnBinding[] identifierColumnBindings;
 
-	public EntityReference(Type ormType, ColumnBinding[] columnBindings) {
-		this.ormType = ormType;
+	public EntityReference(
+			ImprovedEntityPersister improvedEntityPersister,
+			ColumnBinding[] columnBindings,
+			ColumnBinding[] identifierColumnBindings) {
+		this.improvedEntityPersister = improvedEntityPersister;
+		this.ormType = improvedEntityPersister.getOrmType();
 		this.columnBindings = columnBindings;
+		this.identifierColumnBindings = identifierColumnBindings;
+	}
+
+	public ImprovedEntityPersister getImprovedEntityPersister() {
+		return improvedEntityPersister;
 	}
 
 	@Override
@@ -31,6 +46,22 @@ public class EntityReference extends SelfReadingExpressionSupport {
 		return columnBindings;
 	}
 
+	/**
+	 * The bindings for just the identifier column(s); these are all that is rendered
+	 * for a shallow selection of the entity
+	 */
+	public ColumnBinding[] getIdentifierColumnBindings() {
+		return identifierColumnBindings;
+	}
+
+	@Override
+	public ReturnReader getReturnReader(int startPosition, boolean shallow, SessionFactoryImplementor sessionFactory) {
+		if ( shallow ) {
+			return new ReturnReaderShallowEntityImpl( startPosition, improvedEntityPersister, sessionFactory );
+		}
+		return super.getReturnReader( startPosition, shallow, sessionFactory );
+	}
+
 	@Override
 	public void accept(SqlTreeWalker sqlTreeWalker) {
 		sqlTreeWalker.visitEntityExpression( this );
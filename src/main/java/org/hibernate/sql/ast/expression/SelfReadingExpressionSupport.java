@@ -16,6 +16,6 @@ import org.hibernate.sql.exec.results.spi.ReturnReader;
 public abstract class SelfReadingExpressionSupport implements Expression {
 	@Override
 	public ReturnReader getReturnReader(int startPosition, boolean shallow, SessionFactoryImplementor sessionFactory) {
-		return new ReturnReaderScalarImpl( startPosition, getType() );
+		return new ReturnReaderScalarImpl( startPosition, getType(), sessionFactory );
 	}
 }
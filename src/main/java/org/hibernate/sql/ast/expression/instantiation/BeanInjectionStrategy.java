@@ -0,0 +1,182 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.expression.instantiation;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.internal.util.beans.BeanInfoHelper;
+import org.hibernate.sqm.query.expression.Compatibility;
+
+/**
+ * The resolved strategy for bean-injection dynamic instantiation of a target class
+ * for a given (ordered) set of aliased arguments : the constructor to use and the
+ * BeanInjector for each argument (in argument order).
+ * <p/>
+ * Resolving requires BeanInfo introspection and building the accessors (see
+ * {@link BeanInjectors}), so strategies are cached per target class and argument
+ * signature (alias and type of each argument).  The cache hangs off the target
+ * Class (via ClassValue) so it does not keep the class (or its ClassLoader) alive.
+ *
+ * @author agent
+ */
+final class BeanInjectionStrategy<T> {
+	private static final ClassValue<ConcurrentMap<Signature,BeanInjectionStrategy>> STRATEGIES = new ClassValue<ConcurrentMap<Signature,BeanInjectionStrategy>>() {
+		@Override
+		protected ConcurrentMap<Signature,BeanInjectionStrategy> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final MethodHandle constructor;
+	private final List<BeanInjector<T>> beanInjectors;
+
+	private BeanInjectionStrategy(MethodHandle constructor, List<BeanInjector<T>> beanInjectors) {
+		this.constructor = constructor;
+		this.beanInjectors = Collections.unmodifiableList( beanInjectors );
+	}
+
+	/**
+	 * The handle for the no-arg constructor, or {@code null} if one could not be
+	 * built (use Class#newInstance)
+	 */
+	MethodHandle getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * The BeanInjectors, in argument order
+	 */
+	List<BeanInjector<T>> getBeanInjectors() {
+		return beanInjectors;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> BeanInjectionStrategy<T> resolve(Class<T> target, List<AliasedReturnReader> aliasedArgumentReaders) {
+		return STRATEGIES.get( target ).computeIfAbsent(
+				new Signature( aliasedArgumentReaders ),
+				signature -> build( target, aliasedArgumentReaders )
+		);
+	}
+
+	private static <T> BeanInjectionStrategy<T> build(Class<T> target, List<AliasedReturnReader> aliasedArgumentReaders) {
+		final List<BeanInjector<T>> beanInjectors = new ArrayList<>();
+
+		BeanInfoHelper.visitBeanInfo(
+				target,
+				beanInfo -> {
+					// needs to be ordered by argument order!
+					for ( AliasedReturnReader aliasedReturnReader : aliasedArgumentReaders ) {
+						boolean found = false;
+						for ( PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors() ) {
+							if ( aliasedReturnReader.getAlias().equals( propertyDescriptor.getName() ) ) {
+								if ( propertyDescriptor.getWriteMethod() != null ) {
+									final boolean assignmentCompatible = Compatibility.areAssignmentCompatible(
+											propertyDescriptor.getWriteMethod().getParameterTypes()[0],
+											aliasedReturnReader.getReturnReader().getReturnedJavaType()
+									);
+									if ( assignmentCompatible ) {
+										beanInjectors.add( BeanInjectors.forSetter( propertyDescriptor.getWriteMethod() ) );
+										found = true;
+										break;
+									}
+								}
+							}
+						}
+						if ( found ) {
+							continue;
+						}
+
+						// see if we can find a Field with the given name...
+						final Field field = findField( target, aliasedReturnReader.getAlias(), aliasedReturnReader.getReturnReader().getReturnedJavaType() );
+						if ( field != null ) {
+							beanInjectors.add( BeanInjectors.forField( field ) );
+						}
+						else {
+							throw new InstantiationException(
+									"Unable to determine dynamic instantiation injection strategy for " +
+											target.getName() + "#" + aliasedReturnReader.getAlias()
+							);
+						}
+					}
+				}
+		);
+
+		assert aliasedArgumentReaders.size() == beanInjectors.size();
+
+		return new BeanInjectionStrategy<>( resolveConstructor( target ), beanInjectors );
+	}
+
+	private static Field findField(Class declaringClass, String name, Class javaType) {
+		try {
+			Field field = declaringClass.getDeclaredField( name );
+			// field should never be null
+			if ( Compatibility.areAssignmentCompatible( field.getType(), javaType ) ) {
+				field.setAccessible( true );
+				return field;
+			}
+		}
+		catch (NoSuchFieldException ignore) {
+		}
+
+		return null;
+	}
+
+	private static MethodHandle resolveConstructor(Class target) {
+		try {
+			return BeanInjectors.constructorHandle( target.getDeclaredConstructor() );
+		}
+		catch (NoSuchMethodException e) {
+			// fall back to Class#newInstance, which reports the problem per row as before
+			return null;
+		}
+	}
+
+	/**
+	 * The ordered alias and type of each argument
+	 */
+	private static class Signature {
+		private final String[] aliases;
+		private final Class[] types;
+		private final int hashCode;
+
+		private Signature(List<AliasedReturnReader> aliasedArgumentReaders) {
+			final int size = aliasedArgumentReaders.size();
+			this.aliases = new String[size];
+			this.types = new Class[size];
+			for ( int i = 0; i < size; i++ ) {
+				aliases[i] = aliasedArgumentReaders.get( i ).getAlias();
+				types[i] = aliasedArgumentReaders.get( i ).getReturnReader().getReturnedJavaType();
+			}
+			this.hashCode = 31 * Arrays.hashCode( aliases ) + Arrays.hashCode( types );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Signature ) ) {
+				return false;
+			}
+			final Signature that = (Signature) o;
+			return Arrays.equals( aliases, that.aliases ) && Arrays.equals( types, that.types );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.expression.instantiation;
+
+import java.util.function.BiConsumer;
+
+/**
+ * BeanInjector calling a setter through a {@link java.lang.invoke.LambdaMetafactory}
+ * generated BiConsumer; a plain (inlinable) interface call
+ *
+ * @author agent
+ */
+class BeanInjectorLambda<T> implements BeanInjector<T> {
+	private final BiConsumer<T,Object> setter;
+
+	BeanInjectorLambda(BiConsumer<T,Object> setter) {
+		this.setter = setter;
+	}
+
+	@Override
+	public void inject(T target, Object value) {
+		setter.accept( target, value );
+	}
+}
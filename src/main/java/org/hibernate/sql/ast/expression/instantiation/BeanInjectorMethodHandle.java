@@ -0,0 +1,42 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.expression.instantiation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * BeanInjector using a MethodHandle (to a setter or a field setter)
+ *
+ * @author agent
+ */
+class BeanInjectorMethodHandle<T> implements BeanInjector<T> {
+	private static final MethodType INJECTION_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+
+	private final MethodHandle injectionHandle;
+
+	/**
+	 * @param injectionHandle The handle, taking the target and value; adapted here
+	 * to the generic {@code (Object,Object)void} form
+	 */
+	BeanInjectorMethodHandle(MethodHandle injectionHandle) {
+		this.injectionHandle = injectionHandle.asType( INJECTION_TYPE );
+	}
+
+	@Override
+	public void inject(T target, Object value) {
+		try {
+			injectionHandle.invokeExact( (Object) target, value );
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new InstantiationException( "Error performing the dynamic instantiation", t );
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.expression.instantiation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Builds the BeanInjectors (and constructor handles) used for dynamic instantiation,
+ * preferring (in order):<ol>
+ *     <li>a LambdaMetafactory generated BiConsumer (public setters of public classes)</li>
+ *     <li>a MethodHandle</li>
+ *     <li>reflection</li>
+ * </ol>
+ * All of this happens when the ReturnReader is built, not per row.
+ *
+ * @author agent
+ */
+final class BeanInjectors {
+	private static final Logger log = Logger.getLogger( BeanInjectors.class );
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private BeanInjectors() {
+	}
+
+	static <T> BeanInjector<T> forSetter(Method setter) {
+		final BeanInjector<T> lambdaInjector = buildLambdaInjector( setter );
+		if ( lambdaInjector != null ) {
+			return lambdaInjector;
+		}
+
+		try {
+			setter.setAccessible( true );
+			return new BeanInjectorMethodHandle<>( LOOKUP.unreflect( setter ) );
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			log.debugf( "Unable to build MethodHandle for setter [%s], using reflection : %s", setter, e.getMessage() );
+			return new BeanInjectorSetter<>( setter );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> BeanInjector<T> buildLambdaInjector(Method setter) {
+		if ( !Modifier.isPublic( setter.getModifiers() )
+				|| !Modifier.isPublic( setter.getDeclaringClass().getModifiers() )
+				|| Modifier.isStatic( setter.getModifiers() ) ) {
+			return null;
+		}
+
+		// the generated class is defined against our ClassLoader, which must be able to
+		// see the types it references (which is not a given in modular environments)
+		final Class<?> valueType = wrap( setter.getParameterTypes()[0] );
+		if ( !isVisible( setter.getDeclaringClass() ) || !isVisible( valueType ) ) {
+			return null;
+		}
+
+		try {
+			final MethodHandle setterHandle = LOOKUP.unreflect( setter );
+			// the lambda receives the value as an Object; LambdaMetafactory handles any unboxing
+			final CallSite callSite = LambdaMetafactory.metafactory(
+					LOOKUP,
+					"accept",
+					MethodType.methodType( BiConsumer.class ),
+					MethodType.methodType( void.class, Object.class, Object.class ),
+					setterHandle,
+					MethodType.methodType( void.class, setter.getDeclaringClass(), valueType )
+			);
+			return new BeanInjectorLambda<>( (BiConsumer<T,Object>) callSite.getTarget().invoke() );
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			// e.g. LambdaConversionException; fall back to a MethodHandle
+			log.debugf( "Unable to build lambda for setter [%s] : %s", setter, t.getMessage() );
+			return null;
+		}
+	}
+
+	static <T> BeanInjector<T> forField(Field field) {
+		try {
+			field.setAccessible( true );
+			return new BeanInjectorMethodHandle<>( LOOKUP.unreflectSetter( field ) );
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			log.debugf( "Unable to build MethodHandle for field [%s], using reflection : %s", field, e.getMessage() );
+			return new BeanInjectorField<>( field );
+		}
+	}
+
+	/**
+	 * Build a MethodHandle for the given constructor, adapted to take the arguments as
+	 * an {@code Object[]} and return {@code Object}.
+	 *
+	 * @return The handle, or {@code null} if one could not be built (use reflection)
+	 */
+	static MethodHandle constructorHandle(Constructor constructor) {
+		try {
+			constructor.setAccessible( true );
+			return LOOKUP.unreflectConstructor( constructor )
+					.asSpreader( Object[].class, constructor.getParameterCount() )
+					.asType( MethodType.methodType( Object.class, Object[].class ) );
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			log.debugf( "Unable to build MethodHandle for constructor [%s], using reflection : %s", constructor, e.getMessage() );
+			return null;
+		}
+	}
+
+	private static boolean isVisible(Class<?> type) {
+		try {
+			return Class.forName( type.getName(), false, BeanInjectors.class.getClassLoader() ) == type;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	private static Class<?> wrap(Class<?> type) {
+		return MethodType.methodType( type ).wrap().returnType();
+	}
+}
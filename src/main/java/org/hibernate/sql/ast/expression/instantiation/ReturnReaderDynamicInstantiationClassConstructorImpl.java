@@ -6,6 +6,7 @@
  */
 package org.hibernate.sql.ast.expression.instantiation;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
@@ -21,6 +22,8 @@ import org.hibernate.sql.exec.results.spi.RowProcessingState;
  */
 public class ReturnReaderDynamicInstantiationClassConstructorImpl implements ReturnReader {
 	private final Constructor constructor;
+	// null if a MethodHandle could not be built, in which case we use reflection
+	private final MethodHandle constructorHandle;
 	private final List<AliasedReturnReader> argumentReaders;
 	private final int numberOfColumnsRead;
 
@@ -29,6 +32,7 @@ public class ReturnReaderDynamicInstantiationClassConstructorImpl implements Ret
 			List<AliasedReturnReader> argumentReaders,
 			int numberOfColumnsRead) {
 		this.constructor = constructor;
+		this.constructorHandle = BeanInjectors.constructorHandle( constructor );
 		this.argumentReaders = argumentReaders;
 		this.numberOfColumnsRead = numberOfColumnsRead;
 	}
@@ -60,6 +64,18 @@ public class ReturnReaderDynamicInstantiationClassConstructorImpl implements Ret
 			args[i] = argumentReaders.get( i ).getReturnReader().assemble( processingState, options );
 		}
 
+		if ( constructorHandle != null ) {
+			try {
+				return constructorHandle.invokeExact( args );
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Throwable t) {
+				throw new InstantiationException( "Error performing dynamic instantiation : " + constructor.getDeclaringClass().getName(), t );
+			}
+		}
+
 		try {
 			return constructor.newInstance( args );
 		}
@@ -80,4 +96,14 @@ public class ReturnReaderDynamicInstantiationClassConstructorImpl implements Ret
 	public int getNumberOfColumnsRead(SessionFactoryImplementor sessionFactory) {
 		return numberOfColumnsRead;
 	}
+
+	@Override
+	public boolean isSessionIndependent() {
+		for ( AliasedReturnReader argumentReader : argumentReaders ) {
+			if ( !argumentReader.getReturnReader().isSessionIndependent() ) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
@@ -6,24 +6,24 @@
  */
 package org.hibernate.sql.ast.expression.instantiation;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.engine.spi.SessionFactoryImplementor;
-import org.hibernate.internal.util.beans.BeanInfoHelper;
 import org.hibernate.sql.exec.results.spi.ResultSetProcessingOptions;
 import org.hibernate.sql.exec.results.spi.ReturnReader;
 import org.hibernate.sql.exec.results.spi.RowProcessingState;
-import org.hibernate.sqm.query.expression.Compatibility;
 
 /**
  * @author Steve Ebersole
  */
 public class ReturnReaderDynamicInstantiationClassInjectionImpl<T> implements ReturnReader<T> {
+	private static final Object[] NO_ARGS = new Object[0];
+
 	private final Class<T> target;
+	private final MethodHandle targetConstructor;
 	private final List<BeanInjection> beanInjections;
 	private final int numberOfColumnsConsumed;
 
@@ -35,75 +35,18 @@ public class ReturnReaderDynamicInstantiationClassInjectionImpl<T> implements Re
 		this.target = target;
 		this.numberOfColumnsConsumed = numberOfColumnsConsumed;
 
-		this.beanInjections = new ArrayList<>();
-
-		BeanInfoHelper.visitBeanInfo(
-				target,
-				beanInfo -> {
-					// needs to be ordered by argument order!
-					for ( AliasedReturnReader aliasedReturnReader : aliasedArgumentReaders ) {
-						boolean found = false;
-						for ( PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors() ) {
-							if ( aliasedReturnReader.getAlias().equals( propertyDescriptor.getName() ) ) {
-								if ( propertyDescriptor.getWriteMethod() != null ) {
-									final boolean assignmentCompatible = Compatibility.areAssignmentCompatible(
-											propertyDescriptor.getWriteMethod().getParameterTypes()[0],
-											aliasedReturnReader.getReturnReader().getReturnedJavaType()
-									);
-									if ( assignmentCompatible ) {
-										propertyDescriptor.getWriteMethod().setAccessible( true );
-										beanInjections.add(
-												new BeanInjection(
-														new BeanInjectorSetter( propertyDescriptor.getWriteMethod() ),
-														aliasedReturnReader.getReturnReader()
-												)
-										);
-										found = true;
-										break;
-									}
-								}
-							}
-						}
-						if ( found ) {
-							continue;
-						}
-
-						// see if we can find a Field with the given name...
-						final Field field = findField( target, aliasedReturnReader.getAlias(), aliasedReturnReader.getReturnReader().getReturnedJavaType() );
-						if ( field != null ) {
-							beanInjections.add(
-									new BeanInjection(
-											new BeanInjectorField( field ),
-											aliasedReturnReader.getReturnReader()
-									)
-							);
-						}
-						else {
-							throw new InstantiationException(
-									"Unable to determine dynamic instantiation injection strategy for " +
-											target.getName() + "#" + aliasedReturnReader.getAlias()
-							);
-						}
-					}
-				}
-		);
-
-		assert aliasedArgumentReaders.size() == beanInjections.size();
-	}
-
-	private Field findField(Class<T> declaringClass, String name, Class javaType) {
-		try {
-			Field field = declaringClass.getDeclaredField( name );
-			// field should never be null
-			if ( Compatibility.areAssignmentCompatible( field.getType(), javaType ) ) {
-				field.setAccessible( true );
-				return field;
-			}
-		}
-		catch (NoSuchFieldException ignore) {
+		final BeanInjectionStrategy<T> strategy = BeanInjectionStrategy.resolve( target, aliasedArgumentReaders );
+		this.targetConstructor = strategy.getConstructor();
+
+		this.beanInjections = new ArrayList<>( aliasedArgumentReaders.size() );
+		for ( int i = 0; i < aliasedArgumentReaders.size(); i++ ) {
+			beanInjections.add(
+					new BeanInjection(
+							strategy.getBeanInjectors().get( i ),
+							aliasedArgumentReaders.get( i ).getReturnReader()
+					)
+			);
 		}
-
-		return null;
 	}
 
 	@Override
@@ -130,7 +73,9 @@ public class ReturnReaderDynamicInstantiationClassInjectionImpl<T> implements Re
 			RowProcessingState processingState,
 			ResultSetProcessingOptions options) throws SQLException {
 		try {
-			final T result = target.newInstance();
+			final T result = targetConstructor == null
+					? target.newInstance()
+					: (T) targetConstructor.invokeExact( NO_ARGS );
 
 			for ( BeanInjection beanInjection : beanInjections ) {
 				beanInjection.getBeanInjector().inject(
@@ -140,8 +85,11 @@ public class ReturnReaderDynamicInstantiationClassInjectionImpl<T> implements Re
 			}
 			return result;
 		}
-		catch (Exception e) {
-			throw new InstantiationException( "Error performing dynamic instantiation : " + target.getName(), e );
+		catch (SQLException | RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new InstantiationException( "Error performing dynamic instantiation : " + target.getName(), t );
 		}
 	}
 
@@ -154,4 +102,14 @@ public class ReturnReaderDynamicInstantiationClassInjectionImpl<T> implements Re
 	public int getNumberOfColumnsRead(SessionFactoryImplementor sessionFactory) {
 		return numberOfColumnsConsumed;
 	}
+
+	@Override
+	public boolean isSessionIndependent() {
+		for ( BeanInjection beanInjection : beanInjections ) {
+			if ( !beanInjection.getValueReader().isSessionIndependent() ) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
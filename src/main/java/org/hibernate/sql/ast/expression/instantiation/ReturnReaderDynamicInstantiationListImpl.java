@@ -50,6 +50,16 @@ public class ReturnReaderDynamicInstantiationListImpl implements ReturnReader<Li
 		return numberOfColumnsConsumed;
 	}
 
+	@Override
+	public boolean isSessionIndependent() {
+		for ( ReturnReader argumentReader : argumentReaders ) {
+			if ( !argumentReader.isSessionIndependent() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void readBasicValues(
 			RowProcessingState processingState,
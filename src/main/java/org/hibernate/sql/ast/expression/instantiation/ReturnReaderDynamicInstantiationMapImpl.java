@@ -49,6 +49,16 @@ public class ReturnReaderDynamicInstantiationMapImpl implements ReturnReader {
 		return numberOfColumnsConsumed;
 	}
 
+	@Override
+	public boolean isSessionIndependent() {
+		for ( AliasedReturnReader entryReader : entryReaders ) {
+			if ( !entryReader.getReturnReader().isSessionIndependent() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public Class getReturnedJavaType() {
 		return Map.class;
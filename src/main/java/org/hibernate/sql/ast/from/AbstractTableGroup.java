@@ -9,8 +9,10 @@ package org.hibernate.sql.ast.from;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.persister.entity.internal.IdentifierSimple;
 import org.hibernate.sql.ast.expression.AttributeReference;
@@ -37,6 +39,10 @@ public abstract class AbstractTableGroup implements TableGroup {
 
 	private TableBinding rootTableBinding;
 	private List<TableJoin> tableJoins;
+	// the optional joins none of whose columns have been referenced (yet); these are not rendered
+	private Set<TableJoin> unreferencedOptionalTableJoins;
+	// whether any binding has been resolved against the group (since the last #resetReferenced)
+	private boolean referenced;
 
 	public AbstractTableGroup(TableSpace tableSpace, String aliasBase) {
 		this.tableSpace = tableSpace;
@@ -71,9 +77,31 @@ public abstract class AbstractTableGroup implements TableGroup {
 		if ( tableJoins == null ) {
 			return Collections.emptyList();
 		}
-		else {
+		return Collections.unmodifiableList( tableJoins );
+	}
+
+	/**
+	 * The table joins to render : all (non-optional) joins added through
+	 * {@link #addTableSpecificationJoin} plus the {@link #addOptionalTableJoin optional}
+	 * joins whose table is referenced
+	 */
+	@Override
+	public List<TableJoin> getRenderedTableJoins() {
+		if ( tableJoins == null ) {
+			return Collections.emptyList();
+		}
+		else if ( unreferencedOptionalTableJoins == null || unreferencedOptionalTableJoins.isEmpty() ) {
 			return Collections.unmodifiableList( tableJoins );
 		}
+		else {
+			final List<TableJoin> referencedTableJoins = new ArrayList<>( tableJoins.size() );
+			for ( TableJoin tableJoin : tableJoins ) {
+				if ( !unreferencedOptionalTableJoins.contains( tableJoin ) ) {
+					referencedTableJoins.add( tableJoin );
+				}
+			}
+			return Collections.unmodifiableList( referencedTableJoins );
+		}
 	}
 
 	@Override
@@ -113,6 +141,9 @@ public abstract class AbstractTableGroup implements TableGroup {
 	public EntityReference resolveEntityReference() {
 		final ImprovedEntityPersister improvedEntityPersister = resolveEntityReferenceBase();
 
+		// the entity (as a whole) may need the columns of any of its tables
+		includeOptionalTableJoins();
+
 		final TableBinding tableBinding = locateTableBinding( improvedEntityPersister.getRootTable() );
 		final Collection<Column> columns = tableBinding.getTable().getColumns();
 		ColumnBinding[] columnBindings = new ColumnBinding[columns.size()];
@@ -123,19 +154,50 @@ public abstract class AbstractTableGroup implements TableGroup {
 			i++;
 		}
 
-		return new EntityReference( improvedEntityPersister.getOrmType(), columnBindings );
+		final Column[] identifierColumns = improvedEntityPersister.getIdentifierDescriptor().getColumns();
+		final ColumnBinding[] identifierColumnBindings = new ColumnBinding[identifierColumns.length];
+		for ( int j = 0; j < identifierColumns.length; j++ ) {
+			identifierColumnBindings[j] = new ColumnBinding(
+					identifierColumns[j],
+					locateTableBinding( identifierColumns[j].getSourceTable() )
+			);
+		}
+
+		return new EntityReference( improvedEntityPersister, columnBindings, identifierColumnBindings );
 	}
 
 	protected abstract ImprovedEntityPersister resolveEntityReferenceBase();
 
+	/**
+	 * Has any (column) binding been resolved against this group?
+	 */
+	public boolean isReferenced() {
+		return referenced;
+	}
+
+	protected void markReferenced() {
+		referenced = true;
+	}
+
+	void resetReferenced() {
+		referenced = false;
+	}
+
 	private TableBinding locateTableBinding(Table table) {
+		markReferenced();
+
 		if ( table == getRootTableBinding().getTable() ) {
 			return getRootTableBinding();
 		}
 
-		for ( TableJoin tableJoin : getTableJoins() ) {
-			if ( tableJoin.getJoinedTableBinding().getTable() == table ) {
-				return tableJoin.getJoinedTableBinding();
+		if ( tableJoins != null ) {
+			for ( TableJoin tableJoin : tableJoins ) {
+				if ( tableJoin.getJoinedTableBinding().getTable() == table ) {
+					if ( unreferencedOptionalTableJoins != null ) {
+						unreferencedOptionalTableJoins.remove( tableJoin );
+					}
+					return tableJoin.getJoinedTableBinding();
+				}
 			}
 		}
 
@@ -149,4 +211,26 @@ public abstract class AbstractTableGroup implements TableGroup {
 		}
 		tableJoins.add( join );
 	}
+
+	/**
+	 * Add a join which is only rendered if a column of the joined table is referenced
+	 * (or {@link #includeOptionalTableJoins()} is called).  Only valid for joins which cannot
+	 * affect the cardinality of the results, e.g. the (outer) join to a subclass table
+	 */
+	public void addOptionalTableJoin(TableJoin join) {
+		addTableSpecificationJoin( join );
+		if ( unreferencedOptionalTableJoins == null ) {
+			unreferencedOptionalTableJoins = Collections.newSetFromMap( new IdentityHashMap<>() );
+		}
+		unreferencedOptionalTableJoins.add( join );
+	}
+
+	/**
+	 * Render all optional joins, e.g. because the entity as a whole is referenced
+	 */
+	public void includeOptionalTableJoins() {
+		if ( unreferencedOptionalTableJoins != null ) {
+			unreferencedOptionalTableJoins.clear();
+		}
+	}
 }
@@ -33,6 +33,8 @@ public class CollectionTableGroup extends AbstractTableGroup {
 	}
 
 	public ColumnBinding[] resolveKeyColumnBindings() {
+		markReferenced();
+
 		final Column[] columns = persister.getForeignKeyDescriptor().getForeignKeyColumns();
 
 		final TableBinding tableBinding = getRootTableBinding();
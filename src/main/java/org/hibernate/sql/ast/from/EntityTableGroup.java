@@ -27,6 +27,8 @@ public class EntityTableGroup extends AbstractTableGroup {
 	}
 
 	public ColumnBinding[] resolveIdentifierColumnBindings() {
+		markReferenced();
+
 		final Column[] columns = persister.getIdentifierDescriptor().getColumns();
 
 		final TableBinding tableBinding = getRootTableBinding();
@@ -23,8 +23,19 @@ public interface TableGroup {
 	TableBinding getRootTableBinding();
 	List<TableJoin> getTableJoins();
 
+	/**
+	 * The {@link #getTableJoins() table joins} to render, leaving out the optional
+	 * joins to tables none of whose columns are referenced
+	 */
+	List<TableJoin> getRenderedTableJoins();
+
 	ColumnBinding[] resolveBindings(SingularAttributeImplementor attribute);
 	AttributeReference resolve(SingularAttributeImplementor attribute);
 
 	EntityReference resolveEntityReference();
+
+	/**
+	 * Has any (column) binding been resolved against this group?
+	 */
+	boolean isReferenced();
 }
@@ -8,7 +8,9 @@ package org.hibernate.sql.ast.from;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.AssertionFailure;
 
@@ -31,6 +33,7 @@ public class TableSpace {
 
 	private TableGroup rootTableGroup;
 	private List<TableGroupJoin> joinedTableGroups;
+	private Set<TableGroupJoin> optionalJoinedTableGroups;
 
 	public TableSpace(FromClause fromClause) {
 		if ( fromClause == null ) {
@@ -57,13 +60,26 @@ public class TableSpace {
 		this.rootTableGroup = rootTableGroup;
 	}
 
+	/**
+	 * The table group joins to render : all joins added through {@link #addJoinedTableGroup}
+	 * plus the {@link #addOptionalJoinedTableGroup optional} joins whose group is referenced
+	 */
 	public List<TableGroupJoin> getJoinedTableGroups() {
 		if ( joinedTableGroups == null ) {
 			return Collections.emptyList();
 		}
-		else {
+		else if ( optionalJoinedTableGroups == null ) {
 			return Collections.unmodifiableList( joinedTableGroups );
 		}
+		else {
+			final List<TableGroupJoin> referencedJoins = new ArrayList<>( joinedTableGroups.size() );
+			for ( TableGroupJoin join : joinedTableGroups ) {
+				if ( !optionalJoinedTableGroups.contains( join ) || join.getJoinedGroup().isReferenced() ) {
+					referencedJoins.add( join );
+				}
+			}
+			return Collections.unmodifiableList( referencedJoins );
+		}
 	}
 
 	public void addJoinedTableGroup(TableGroupJoin join) {
@@ -73,4 +89,22 @@ public class TableSpace {
 		}
 		joinedTableGroups.add( join );
 	}
+
+	/**
+	 * Add a join which is only rendered if its group is referenced after being added, i.e.
+	 * references from the join's own predicate do not count.  Only valid for joins which
+	 * cannot affect the cardinality of the results, e.g. a left join to (at most) one row
+	 * through a primary or unique key.
+	 */
+	public void addOptionalJoinedTableGroup(TableGroupJoin join) {
+		addJoinedTableGroup( join );
+		if ( optionalJoinedTableGroups == null ) {
+			optionalJoinedTableGroups = Collections.newSetFromMap( new IdentityHashMap<>() );
+		}
+		optionalJoinedTableGroups.add( join );
+
+		if ( join.getJoinedGroup() instanceof AbstractTableGroup ) {
+			( (AbstractTableGroup) join.getJoinedGroup() ).resetReferenced();
+		}
+	}
 }
@@ -7,6 +7,7 @@
 package org.hibernate.sql.convert.spi;
 
 import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.query.proposed.spi.QueryParameterBinding;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.sql.ast.expression.NamedParameter;
@@ -47,6 +48,60 @@ public class Helper {
 		throw new QueryException( "Unable to determine Type for positional parameter [?" + parameter.getPosition() + "]" );
 	}
 
+	public static Type resolveType(ParameterSpec parameter, QueryParameterBindings bindings) {
+		if ( parameter instanceof NamedParameter ) {
+			return resolveType( (NamedParameter) parameter, bindings );
+		}
+		else if ( parameter instanceof PositionalParameter ) {
+			return resolveType( (PositionalParameter) parameter, bindings );
+		}
+
+		throw new QueryException( "Unexpected parameter type [" + parameter + "]" );
+	}
+
+	public static QueryParameterBinding resolveBinding(ParameterSpec parameter, QueryParameterBindings bindings) {
+		if ( parameter instanceof NamedParameter ) {
+			return bindings.getBinding( ( (NamedParameter) parameter ).getName() );
+		}
+		else if ( parameter instanceof PositionalParameter ) {
+			return bindings.getBinding( ( (PositionalParameter) parameter ).getPosition() );
+		}
+
+		throw new QueryException( "Unexpected parameter type [" + parameter + "]" );
+	}
+
+	/**
+	 * Determine the number of values the given binding is rendered (and bound) as.  For
+	 * a multi-valued binding this is the number of values padded up to the next power of
+	 * two, so that IN-lists of varying length share a small number of SQL shapes.
+	 *
+	 * @see #determinePaddedValueCount
+	 */
+	public static int determineRenderedValueCount(QueryParameterBinding binding, Dialect dialect) {
+		if ( binding == null || !binding.isMultiValued() ) {
+			return 1;
+		}
+		return determinePaddedValueCount( binding.getBindValues().size(), dialect );
+	}
+
+	/**
+	 * Pads the given number of (multi-valued binding) values to the next power of two.
+	 * The padding never goes beyond the Dialect's IN-list limit, if it has one.  An empty
+	 * list is rendered as a single (null) value.
+	 */
+	public static int determinePaddedValueCount(int valueCount, Dialect dialect) {
+		if ( valueCount <= 1 ) {
+			return 1;
+		}
+
+		final int padded = Integer.highestOneBit( valueCount - 1 ) << 1;
+		final int limit = dialect.getInExpressionCountLimit();
+		if ( limit > 0 && padded > limit ) {
+			return Math.max( valueCount, limit );
+		}
+		return padded;
+	}
+
 	private Helper() {
 	}
 }
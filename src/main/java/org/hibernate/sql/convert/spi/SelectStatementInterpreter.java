@@ -18,6 +18,7 @@ import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.sql.ast.QuerySpec;
 import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.expression.AttributeReference;
 import org.hibernate.sql.ast.expression.AvgFunction;
 import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
 import org.hibernate.sql.ast.expression.CaseSearchedExpression;
@@ -65,6 +66,7 @@ import org.hibernate.sqm.domain.SingularAttributeReference.SingularAttributeClas
 import org.hibernate.sqm.parser.SemanticException;
 import org.hibernate.sqm.parser.common.AttributeBinding;
 import org.hibernate.sqm.parser.common.EntityBinding;
+import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.SqmDeleteStatement;
 import org.hibernate.sqm.query.SqmInsertSelectStatement;
 import org.hibernate.sqm.query.SqmQuerySpec;
@@ -103,6 +105,7 @@ import org.hibernate.sqm.query.from.FromElementSpace;
 import org.hibernate.sqm.query.from.SqmAttributeJoin;
 import org.hibernate.sqm.query.from.SqmCrossJoin;
 import org.hibernate.sqm.query.from.SqmEntityJoin;
+import org.hibernate.sqm.query.from.SqmFrom;
 import org.hibernate.sqm.query.from.SqmFromClause;
 import org.hibernate.sqm.query.from.SqmJoin;
 import org.hibernate.sqm.query.from.SqmRoot;
@@ -273,7 +276,13 @@ public class SelectStatementInterpreter extends BaseSemanticQueryWalker {
 		try {
 			visitRootEntityFromElement( fromElementSpace.getRoot() );
 			for ( SqmJoin sqmJoin : fromElementSpace.getJoins() ) {
-				tableSpace.addJoinedTableGroup( (TableGroupJoin) sqmJoin.accept( this ) );
+				final TableGroupJoin tableGroupJoin = (TableGroupJoin) sqmJoin.accept( this );
+				if ( isEliminable( sqmJoin ) ) {
+					tableSpace.addOptionalJoinedTableGroup( tableGroupJoin );
+				}
+				else {
+					tableSpace.addJoinedTableGroup( tableGroupJoin );
+				}
 			}
 			return tableSpace;
 		}
@@ -282,6 +291,28 @@ public class SelectStatementInterpreter extends BaseSemanticQueryWalker {
 		}
 	}
 
+	/**
+	 * Can the join be left out of the SQL if nothing references it?  This is the case for a
+	 * left join of a to-one association : it joins (at most) one row through the primary or
+	 * unique key, so it cannot affect the cardinality of the results.
+	 */
+	private static boolean isEliminable(SqmJoin sqmJoin) {
+		if ( !( sqmJoin instanceof SqmAttributeJoin ) ) {
+			return false;
+		}
+
+		final SqmAttributeJoin attributeJoin = (SqmAttributeJoin) sqmJoin;
+		if ( attributeJoin.getJoinType() != JoinType.LEFT
+				|| attributeJoin.getAttributeBinding().getAttribute() instanceof PluralAttributeReference ) {
+			return false;
+		}
+
+		final SingularAttributeClassification classification = ( (SingularAttributeImplementor) attributeJoin.getAttributeBinding()
+				.getAttribute() ).getAttributeTypeClassification();
+		return classification == SingularAttributeClassification.MANY_TO_ONE
+				|| classification == SingularAttributeClassification.ONE_TO_ONE;
+	}
+
 	@Override
 	public Object visitRootEntityFromElement(SqmRoot sqmRoot) {
 		if ( fromClauseIndex.isResolved( sqmRoot ) ) {
@@ -468,9 +499,58 @@ public class SelectStatementInterpreter extends BaseSemanticQueryWalker {
 	public Object visitAttributeReferenceExpression(AttributeBinding expression) {
 		final SingularAttributeImplementor attribute = (SingularAttributeImplementor) expression.getAttribute();
 		final TableGroup tableGroup = fromClauseIndex.findResolvedTableGroup( expression.getLhs() );
+
+		final AttributeReference foreignKeyReference = resolveThroughForeignKey( attribute, expression.getLhs().getFromElement(), tableGroup );
+		if ( foreignKeyReference != null ) {
+			return foreignKeyReference;
+		}
+
 		return tableGroup.resolve( attribute );
 	}
 
+	/**
+	 * The identifier of the target of an {@link #isEliminable eliminable} to-one join equals
+	 * the foreign key, so is resolved against the foreign key columns of the owning group.
+	 * The joined group is then left unreferenced and the join (if otherwise unused) is not
+	 * rendered, e.g. for {@code select b.id from A a left join a.b b}.
+	 *
+	 * @return The reference to the foreign key columns, or {@code null} if the attribute
+	 * has to be resolved against the joined group itself
+	 */
+	private AttributeReference resolveThroughForeignKey(
+			SingularAttributeImplementor attribute,
+			SqmFrom fromElement,
+			TableGroup tableGroup) {
+		if ( !( fromElement instanceof SqmAttributeJoin ) || !( tableGroup instanceof EntityTableGroup ) ) {
+			return null;
+		}
+
+		final SqmAttributeJoin attributeJoin = (SqmAttributeJoin) fromElement;
+		if ( !isEliminable( attributeJoin ) ) {
+			return null;
+		}
+
+		final ImprovedEntityPersister joinedPersister = ( (EntityTableGroup) tableGroup ).getPersister();
+		if ( attribute != joinedPersister.getIdentifierDescriptor().getIdAttribute() ) {
+			return null;
+		}
+
+		final SingularAttributeImplementor joinAttribute = (SingularAttributeImplementor) attributeJoin.getAttributeBinding().getAttribute();
+		final org.hibernate.type.EntityType ormType = (org.hibernate.type.EntityType) joinAttribute.getOrmType();
+		if ( ormType.getRHSUniqueKeyPropertyName() != null ) {
+			// the foreign key references a unique key rather than the identifier
+			return null;
+		}
+
+		final TableGroup lhsTableGroup = fromClauseIndex.findResolvedTableGroup( attributeJoin.getAttributeBinding().getLhs() );
+		final ColumnBinding[] foreignKeyBindings = lhsTableGroup.resolveBindings( joinAttribute );
+		if ( foreignKeyBindings.length != joinedPersister.getIdentifierDescriptor().getColumns().length ) {
+			return null;
+		}
+
+		return new AttributeReference( attribute, foreignKeyBindings );
+	}
+
 	@Override
 	public QueryLiteral visitLiteralStringExpression(LiteralStringSqmExpression expression) {
 		return new QueryLiteral(
@@ -6,11 +6,18 @@
  */
 package org.hibernate.sql.convert.spi;
 
+import java.time.temporal.Temporal;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
+import org.hibernate.NullPrecedence;
 import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.sql.spi.ParameterBinder;
@@ -59,7 +66,10 @@ import org.hibernate.sql.ast.predicate.Predicate;
 import org.hibernate.sql.ast.predicate.RelationalPredicate;
 import org.hibernate.sql.ast.select.SelectClause;
 import org.hibernate.sql.ast.select.Selection;
+import org.hibernate.sql.ast.sort.SortSpecification;
 import org.hibernate.sql.exec.results.spi.ReturnReader;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+import org.hibernate.sqm.query.order.SortOrder;
 import org.hibernate.type.LiteralType;
 import org.hibernate.type.Type;
 
@@ -74,20 +84,52 @@ public class SqlTreeWalker {
 	// pre-req state
 	private final SessionFactoryImplementor sessionFactory;
 	private final QueryParameterBindings parameterBindings;
-	private final boolean shallow = false; // for now always false, until Query#iterate support finalized
+	private final boolean shallow;
+	private final boolean renderSortKeys;
 
 	// In-flight state
 	private final StringBuilder sqlBuffer = new StringBuilder();
 	private final List<ParameterBinder> parameterBinders = new ArrayList<>();
 	private final List<Return> returns = new ArrayList<Return>();
+	private final Map<ParameterSpec,Type> renderedParameterTypes = new IdentityHashMap<>();
+	private final Map<ParameterSpec,Integer> renderedParameterValueCounts = new IdentityHashMap<>();
+	private final List<JdbcSelect.SortKey> sortKeys = new ArrayList<>();
 
 	// rendering expressions often has to be done differently if it occurs in a predicate
 	private boolean currentlyInPredicate;
 	private boolean currentlyInSelections;
 
 	public SqlTreeWalker(SessionFactoryImplementor sessionFactory, QueryParameterBindings parameterBindings) {
+		this( sessionFactory, parameterBindings, false );
+	}
+
+	/**
+	 * @param shallow Should entity selections be rendered shallow, selecting just
+	 * their identifier (used for Query#iterate)?
+	 */
+	public SqlTreeWalker(
+			SessionFactoryImplementor sessionFactory,
+			QueryParameterBindings parameterBindings,
+			boolean shallow) {
+		this( sessionFactory, parameterBindings, shallow, false );
+	}
+
+	/**
+	 * @param shallow Should entity selections be rendered shallow, selecting just
+	 * their identifier (used for Query#iterate)?
+	 * @param renderSortKeys Should the ORDER BY values additionally be selected, so that
+	 * the results can be merged with those of other (identically ordered) queries?  See
+	 * {@link JdbcSelect#getSortKeys()}
+	 */
+	public SqlTreeWalker(
+			SessionFactoryImplementor sessionFactory,
+			QueryParameterBindings parameterBindings,
+			boolean shallow,
+			boolean renderSortKeys) {
 		this.sessionFactory = sessionFactory;
 		this.parameterBindings = parameterBindings;
+		this.shallow = shallow;
+		this.renderSortKeys = renderSortKeys;
 	}
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -103,17 +145,66 @@ public class SqlTreeWalker {
 	}
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/**
+	 * Package up the results of the walk as an (immutable) JdbcSelect.  Should only
+	 * be called after {@link #visitSelectQuery} has completed.
+	 */
+	public JdbcSelect toJdbcSelect() {
+		return new JdbcSelect(
+				getSql(),
+				parameterBinders,
+				returns,
+				renderedParameterTypes,
+				renderedParameterValueCounts,
+				sortKeys
+		);
+	}
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
 	private void appendSql(String fragment) {
 		sqlBuffer.append( fragment );
 	}
 
 	public void visitSelectQuery(SelectQuery selectQuery) {
-		visitQuerySpec( selectQuery.getQuerySpec() );
+		final NullPrecedence nullPrecedence = resolveNullPrecedence();
+
+		renderQuerySpec(
+				selectQuery.getQuerySpec(),
+				renderSortKeys ? selectQuery.getSortSpecifications() : Collections.emptyList(),
+				nullPrecedence
+		);
+
+		if ( !selectQuery.getSortSpecifications().isEmpty() ) {
+			appendSql( " order by " );
+
+			String separator = "";
+			for ( SortSpecification sortSpecification : selectQuery.getSortSpecifications() ) {
+				appendSql( separator );
+				visitSortSpecification( sortSpecification, nullPrecedence );
+				separator = ", ";
+			}
+		}
+	}
 
+	private NullPrecedence resolveNullPrecedence() {
+		// NOTE : for sort keys, NONE means merging follows the database's default as well
+		final NullPrecedence defaultNullPrecedence = sessionFactory.getSessionFactoryOptions().getDefaultNullPrecedence();
+		return defaultNullPrecedence == null ? NullPrecedence.NONE : defaultNullPrecedence;
 	}
 
 	public void visitQuerySpec(QuerySpec querySpec) {
+		renderQuerySpec( querySpec, Collections.emptyList(), NullPrecedence.NONE );
+	}
+
+	private void renderQuerySpec(
+			QuerySpec querySpec,
+			List<SortSpecification> sortKeySpecifications,
+			NullPrecedence nullPrecedence) {
 		visitSelectClause( querySpec.getSelectClause() );
+		if ( !sortKeySpecifications.isEmpty() ) {
+			renderSortKeys( sortKeySpecifications, nullPrecedence );
+		}
 		visitFromClause( querySpec.getFromClause() );
 
 		if ( querySpec.getWhereClauseRestrictions() != null && !querySpec.getWhereClauseRestrictions().isEmpty() ) {
@@ -193,6 +284,97 @@ public class SqlTreeWalker {
 	private SelectionProcessor currentSelectionProcessor;
 
 
+	private void renderSortKeys(List<SortSpecification> sortSpecifications, NullPrecedence nullPrecedence) {
+		// only single-column numeric and temporal sort expressions can be compared as sort
+		// keys; the order of character values depends on the database collation
+		for ( SortSpecification sortSpecification : sortSpecifications ) {
+			if ( !isComparableSortKey( sortSpecification.getSortExpression() ) ) {
+				return;
+			}
+		}
+
+		int position = 0;
+		for ( Return queryReturn : returns ) {
+			position += queryReturn.getReturnReader().getNumberOfColumnsRead( sessionFactory );
+		}
+
+		for ( SortSpecification sortSpecification : sortSpecifications ) {
+			appendSql( ", " );
+			sortSpecification.getSortExpression().accept( this );
+			sortKeys.add(
+					new JdbcSelect.SortKey(
+							++position,
+							sortSpecification.getSortOrder() == SortOrder.DESCENDING,
+							nullPrecedence
+					)
+			);
+		}
+	}
+
+
+	private boolean isComparableSortKey(Expression sortExpression) {
+		final Type type = sortExpression.getType();
+		if ( type == null ) {
+			return false;
+		}
+		final ReturnReader reader = sortExpression.getReturnReader( 1, false, sessionFactory );
+		if ( reader.getNumberOfColumnsRead( sessionFactory ) != 1 ) {
+			return false;
+		}
+
+		final Class javaType = type.getReturnedClass();
+		return Number.class.isAssignableFrom( javaType )
+				|| java.util.Date.class.isAssignableFrom( javaType )
+				|| Calendar.class.isAssignableFrom( javaType )
+				|| Temporal.class.isAssignableFrom( javaType );
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// ORDER BY clause
+
+	private void visitSortSpecification(SortSpecification sortSpecification, NullPrecedence nullPrecedence) {
+		final Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+		final String order = sortSpecification.getSortOrder() == SortOrder.DESCENDING ? "desc" : "asc";
+
+		// the ordering applies to each column of a multi-column expression
+		final Expression sortExpression = sortSpecification.getSortExpression();
+		final ColumnBinding[] columnBindings;
+		if ( sortExpression instanceof AttributeReference ) {
+			columnBindings = ( (AttributeReference) sortExpression ).getColumnBindings();
+		}
+		else if ( sortExpression instanceof EntityReference ) {
+			columnBindings = ( (EntityReference) sortExpression ).getColumnBindings();
+		}
+		else {
+			columnBindings = null;
+		}
+
+		if ( columnBindings == null ) {
+			final int start = sqlBuffer.length();
+			sortExpression.accept( this );
+			final String rendered = sqlBuffer.substring( start );
+			sqlBuffer.setLength( start );
+			appendSql( dialect.renderOrderByElement( rendered, sortSpecification.getCollation(), order, nullPrecedence ) );
+		}
+		else {
+			String separator = "";
+			for ( ColumnBinding columnBinding : columnBindings ) {
+				appendSql( separator );
+				appendSql(
+						dialect.renderOrderByElement(
+								columnBinding.getColumn().render( columnBinding.getIdentificationVariable() ),
+								sortSpecification.getCollation(),
+								order,
+								nullPrecedence
+						)
+				);
+				separator = ", ";
+			}
+		}
+	}
+
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// FROM clause
 
@@ -233,7 +415,7 @@ public class SqlTreeWalker {
 	public void visitTableGroup(TableGroup tableGroup) {
 		visitTableBinding( tableGroup.getRootTableBinding() );
 
-		for ( TableJoin tableJoin : tableGroup.getTableJoins() ) {
+		for ( TableJoin tableJoin : tableGroup.getRenderedTableJoins() ) {
 			appendSql( tableJoin.getJoinType().getText() );
 			appendSql( " join " );
 			visitTableBinding( tableJoin.getJoinedTableBinding() );
@@ -377,25 +559,43 @@ public class SqlTreeWalker {
 
 	public void visitNamedParameter(NamedParameter namedParameter) {
 		parameterBinders.add( namedParameter.getParameterBinder() );
+		renderParameter( namedParameter );
+	}
+
+	private void renderParameter(ParameterSpec parameter) {
+		final Type type = Helper.resolveType( parameter, parameterBindings );
+		renderedParameterTypes.put( parameter, type );
 
-		final Type type = Helper.resolveType( namedParameter, parameterBindings );
+		// a multi-valued binding (IN-list) renders a (padded) placeholder group per value
+		final int valueCount = Helper.determineRenderedValueCount(
+				Helper.resolveBinding( parameter, parameterBindings ),
+				sessionFactory.getJdbcServices().getDialect()
+		);
+		renderedParameterValueCounts.put( parameter, valueCount );
 
 		final int columnCount = type.getColumnSpan( sessionFactory );
 		final boolean needsParens = currentlyInPredicate && columnCount > 1;
 
-		if ( needsParens ) {
-			appendSql( "(" );
-		}
+		String valueSeparator = "";
+		for ( int v = 0; v < valueCount; v++ ) {
+			appendSql( valueSeparator );
 
-		String separator = "";
-		for ( int i = 0; i < columnCount; i++ ) {
-			appendSql( separator );
-			appendSql( "?" );
-			separator = ", ";
-		}
+			if ( needsParens ) {
+				appendSql( "(" );
+			}
 
-		if ( needsParens ) {
-			appendSql( ")" );
+			String separator = "";
+			for ( int i = 0; i < columnCount; i++ ) {
+				appendSql( separator );
+				appendSql( "?" );
+				separator = ", ";
+			}
+
+			if ( needsParens ) {
+				appendSql( ")" );
+			}
+
+			valueSeparator = ", ";
 		}
 	}
 
@@ -424,26 +624,7 @@ public class SqlTreeWalker {
 
 	public void visitPositionalParameter(PositionalParameter positionalParameter) {
 		parameterBinders.add( positionalParameter.getParameterBinder() );
-
-		final Type type = Helper.resolveType( positionalParameter, parameterBindings );
-
-		final int columnCount = type.getColumnSpan( sessionFactory );
-		final boolean needsParens = currentlyInPredicate && columnCount > 1;
-
-		if ( needsParens ) {
-			appendSql( "(" );
-		}
-
-		String separator = "";
-		for ( int i = 0; i < columnCount; i++ ) {
-			appendSql( separator );
-			appendSql( "?" );
-			separator = ", ";
-		}
-
-		if ( needsParens ) {
-			appendSql( ")" );
-		}
+		renderParameter( positionalParameter );
 	}
 
 	public void visitQueryLiteral(QueryLiteral queryLiteral) {
@@ -622,7 +803,13 @@ public class SqlTreeWalker {
 	}
 
 	public void visitEntityExpression(EntityReference entityExpression) {
-		renderColumnBindings( entityExpression.getColumnBindings() );
+		if ( shallow && currentlyInSelections ) {
+			// only the identifier is selected; the entity is loaded later (by id)
+			renderColumnBindings( entityExpression.getIdentifierColumnBindings() );
+		}
+		else {
+			renderColumnBindings( entityExpression.getColumnBindings() );
+		}
 	}
 
 	private void renderColumnBindings(ColumnBinding[] columnBindings) {
@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * Derives the JDBC fetch size for the executions of a query (plan) from the number of
+ * rows its previous executions returned, when no fetch size is explicitly specified
+ * for the query.
+ * <p/>
+ * The row counts of the last {@value #SAMPLE_COUNT} executions are kept and the fetch
+ * size is chosen to cover the {@value #PERCENTILE}th percentile of them (plus one row,
+ * so the driver can detect the end of the results in the same round trip), bounded by
+ * {@link #MIN_FETCH_SIZE} and {@link #MAX_FETCH_SIZE}.  Until a row count is recorded
+ * the driver's default fetch size is used.
+ * <p/>
+ * Executions limited by max-rows are not recorded : their row counts say nothing about
+ * the unlimited executions.  Recording is lock-free; once {@value #SAMPLE_COUNT} row counts
+ * are recorded the percentile is only re-computed every {@value #RECOMPUTE_INTERVAL}th
+ * recording.
+ * <p/>
+ * Enabled through {@link #ADAPTIVE_FETCH_SIZE}.
+ *
+ * @author agent
+ */
+public class AdaptiveFetchSize {
+	/**
+	 * Setting to enable adaptive fetch sizes; disabled by default
+	 */
+	public static final String ADAPTIVE_FETCH_SIZE = "hibernate.jdbc.adaptive_fetch_size";
+
+	/**
+	 * Setting for the smallest fetch size to use; defaults to {@value #DEFAULT_MIN_FETCH_SIZE}
+	 */
+	public static final String MIN_FETCH_SIZE = "hibernate.jdbc.adaptive_fetch_size.min";
+
+	/**
+	 * Setting for the largest fetch size to use; defaults to {@value #DEFAULT_MAX_FETCH_SIZE}
+	 */
+	public static final String MAX_FETCH_SIZE = "hibernate.jdbc.adaptive_fetch_size.max";
+
+	public static final int DEFAULT_MIN_FETCH_SIZE = 10;
+	public static final int DEFAULT_MAX_FETCH_SIZE = 1000;
+
+	/**
+	 * The number of (most recent) row counts the fetch size is derived from
+	 */
+	static final int SAMPLE_COUNT = 32;
+
+	/**
+	 * Every how many recordings the percentile is re-computed (once all samples are taken);
+	 * a power of 2
+	 */
+	static final int RECOMPUTE_INTERVAL = 8;
+
+	/**
+	 * The percentile of the recorded row counts the fetch size covers
+	 */
+	static final int PERCENTILE = 90;
+
+	/**
+	 * Used when adaptive fetch sizes are not enabled
+	 */
+	public static final AdaptiveFetchSize DISABLED = new AdaptiveFetchSize( false, 0, 0 );
+
+	private final boolean enabled;
+	private final int minFetchSize;
+	private final int maxFetchSize;
+
+	// a ring of the most recent row counts; SAMPLE_COUNT is a power of 2
+	private final AtomicIntegerArray samples = new AtomicIntegerArray( SAMPLE_COUNT );
+	private final AtomicInteger recordedCount = new AtomicInteger();
+
+	// 0 means no recommendation (yet)
+	private volatile int fetchSize;
+
+	AdaptiveFetchSize(boolean enabled, int minFetchSize, int maxFetchSize) {
+		this.enabled = enabled;
+		this.minFetchSize = minFetchSize;
+		this.maxFetchSize = maxFetchSize;
+	}
+
+	/**
+	 * Build a new AdaptiveFetchSize (for a query plan) according to the SessionFactory
+	 * settings.
+	 *
+	 * @return The new AdaptiveFetchSize, or {@link #DISABLED}
+	 */
+	public static AdaptiveFetchSize from(SessionFactoryImplementor sessionFactory) {
+		final Map settings = sessionFactory.getProperties();
+		if ( !ConfigurationHelper.getBoolean( ADAPTIVE_FETCH_SIZE, settings, false ) ) {
+			return DISABLED;
+		}
+
+		final int min = Math.max( 1, ConfigurationHelper.getInt( MIN_FETCH_SIZE, settings, DEFAULT_MIN_FETCH_SIZE ) );
+		final int max = Math.max( min, ConfigurationHelper.getInt( MAX_FETCH_SIZE, settings, DEFAULT_MAX_FETCH_SIZE ) );
+		return new AdaptiveFetchSize( true, min, max );
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Record the number of rows an execution read
+	 *
+	 * @param maxRows The max-rows of the execution, if one; limited executions are not recorded
+	 */
+	public void recordRowCount(int rowCount, Integer maxRows) {
+		if ( !enabled || ( maxRows != null && maxRows > 0 ) ) {
+			return;
+		}
+
+		// NOTE : the masking keeps working once the count overflows
+		final int recorded = recordedCount.getAndIncrement();
+		samples.set( recorded & ( SAMPLE_COUNT - 1 ), rowCount );
+
+		if ( recorded >= 0 && recorded < SAMPLE_COUNT ) {
+			recomputeFetchSize( recorded + 1 );
+		}
+		else if ( ( recorded & ( RECOMPUTE_INTERVAL - 1 ) ) == 0 ) {
+			recomputeFetchSize( SAMPLE_COUNT );
+		}
+	}
+
+	private void recomputeFetchSize(int sampleCount) {
+		// NOTE : concurrent recordings may overwrite samples while they are copied, which
+		// 		only shifts the percentile within the recent row counts
+		final int[] sorted = new int[ sampleCount ];
+		for ( int i = 0; i < sampleCount; i++ ) {
+			sorted[i] = samples.get( i );
+		}
+
+		Arrays.sort( sorted );
+		final int percentileRowCount = sorted[ ( sorted.length - 1 ) * PERCENTILE / 100 ];
+		fetchSize = Math.min( maxFetchSize, Math.max( minFetchSize, percentileRowCount + 1 ) );
+	}
+
+	/**
+	 * The fetch size to use for the next execution.
+	 *
+	 * @param maxRows The max-rows of the execution, if one.
+	 *
+	 * @return The fetch size, or {@code null} if the driver default should be used
+	 */
+	public Integer determineFetchSize(Integer maxRows) {
+		final int recommended = fetchSize;
+		if ( recommended == 0 ) {
+			return null;
+		}
+		if ( maxRows != null && maxRows > 0 ) {
+			// no need to fetch more rows than will be read
+			return Math.min( recommended, maxRows + 1 );
+		}
+		return recommended;
+	}
+}
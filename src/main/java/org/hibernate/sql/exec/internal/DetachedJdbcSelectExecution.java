@@ -0,0 +1,220 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+import org.hibernate.sql.exec.spi.RowTransformer;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Execution of a JdbcSelect on a Connection of its own (obtained through the Session's
+ * {@link JdbcConnectionAccess}) rather than the Session's Connection, allowing the
+ * {@link #execute() execution} to happen on another thread.  The Session is only used
+ * by {@link #prepare} and {@link #read}, which must happen on the thread owning the
+ * Session.
+ * <p/>
+ * NOTE : being on another Connection (and so in another transaction), the execution does
+ * not see changes made (and flushed) within the Session's transaction.  The Connection is
+ * only read from; on {@link #release()} its transaction (if any) is rolled back and its
+ * auto-commit mode restored before it is handed back.
+ *
+ * @author agent
+ */
+public class DetachedJdbcSelectExecution {
+	private static final Logger log = Logger.getLogger( DetachedJdbcSelectExecution.class );
+
+	private final JdbcSelect jdbcSelect;
+	private final JdbcServices jdbcServices;
+	private final JdbcConnectionAccess connectionAccess;
+	private final String sql;
+
+	private Connection connection;
+	// null if not (yet) known
+	private Boolean initialAutoCommit;
+	private PreparedStatement ps;
+	private int rowsToSkip;
+	private ResultSet resultSet;
+
+	private DetachedJdbcSelectExecution(
+			JdbcSelect jdbcSelect,
+			JdbcServices jdbcServices,
+			JdbcConnectionAccess connectionAccess,
+			String sql) {
+		this.jdbcSelect = jdbcSelect;
+		this.jdbcServices = jdbcServices;
+		this.connectionAccess = connectionAccess;
+		this.sql = sql;
+	}
+
+	/**
+	 * Obtain a Connection, prepare the statement and bind the parameters.  {@link #release()}
+	 * must be called once the execution is done with.
+	 *
+	 * @return The execution, or {@code null} if no Connection could be obtained (e.g. the
+	 * pool is exhausted), in which case the query should be executed on the Session's Connection
+	 */
+	public static DetachedJdbcSelectExecution prepare(
+			JdbcSelect jdbcSelect,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			AdaptiveFetchSize adaptiveFetchSize,
+			SharedSessionContractImplementor persistenceContext) {
+		final JdbcServices jdbcServices = persistenceContext.getFactory().getServiceRegistry().getService( JdbcServices.class );
+
+		final RowSelection rowSelection = SqlTreeExecutorImpl.toRowSelection( queryOptions.getLimit() );
+		final LimitHandler limitHandler = SqlTreeExecutorImpl.resolveLimitHandler( rowSelection, jdbcServices );
+
+		final DetachedJdbcSelectExecution execution = new DetachedJdbcSelectExecution(
+				jdbcSelect,
+				jdbcServices,
+				persistenceContext.getJdbcConnectionAccess(),
+				limitHandler.processSql( jdbcSelect.getSql(), rowSelection )
+		);
+
+		try {
+			execution.connection = execution.connectionAccess.obtainConnection();
+		}
+		catch (SQLException | RuntimeException e) {
+			log.debugf( "Unable to obtain Connection for detached execution : %s", e.getMessage() );
+			return null;
+		}
+
+		try {
+			execution.initialAutoCommit = execution.connection.getAutoCommit();
+
+			jdbcServices.getSqlStatementLogger().logStatement( execution.sql );
+
+			execution.ps = execution.connection.prepareStatement( execution.sql );
+			execution.rowsToSkip = SqlTreeExecutorImpl.prepareStatement(
+					execution.ps,
+					jdbcSelect,
+					rowSelection,
+					limitHandler,
+					queryOptions,
+					queryParameterBindings,
+					adaptiveFetchSize,
+					persistenceContext
+			);
+		}
+		catch (SQLException e) {
+			execution.release();
+			throw execution.convert( e );
+		}
+		catch (RuntimeException e) {
+			execution.release();
+			throw e;
+		}
+
+		return execution;
+	}
+
+	/**
+	 * Execute the query.  May be called on any thread.
+	 */
+	public void execute() {
+		try {
+			resultSet = ps.executeQuery();
+		}
+		catch (SQLException e) {
+			throw convert( e );
+		}
+	}
+
+	/**
+	 * Read the results of the {@link #execute() executed} query
+	 */
+	public <T> List<T> read(
+			QueryOptions queryOptions,
+			RowTransformer<T> rowTransformer,
+			SharedSessionContractImplementor persistenceContext) {
+		try {
+			return PreparedStatementExecutorNormalImpl.readRows(
+					resultSet,
+					queryOptions,
+					rowsToSkip,
+					jdbcSelect.getReturns(),
+					rowTransformer,
+					persistenceContext
+			);
+		}
+		catch (SQLException e) {
+			throw convert( e );
+		}
+	}
+
+	/**
+	 * Close the JDBC resources and release the Connection.  A no-op if already released.
+	 */
+	public void release() {
+		try {
+			if ( resultSet != null ) {
+				resultSet.close();
+			}
+			if ( ps != null ) {
+				ps.close();
+			}
+		}
+		catch (SQLException e) {
+			log.debugf( "Unable to release JDBC resources of detached execution : %s", e.getMessage() );
+		}
+		finally {
+			resultSet = null;
+			ps = null;
+			releaseConnection();
+		}
+	}
+
+	private void releaseConnection() {
+		if ( connection == null ) {
+			return;
+		}
+
+		try {
+			// end the (read-only) transaction rather than leaving it to the pool
+			if ( !connection.getAutoCommit() ) {
+				connection.rollback();
+			}
+			if ( initialAutoCommit != null && connection.getAutoCommit() != initialAutoCommit ) {
+				connection.setAutoCommit( initialAutoCommit );
+			}
+		}
+		catch (SQLException e) {
+			log.debugf( "Unable to reset Connection of detached execution : %s", e.getMessage() );
+		}
+
+		try {
+			connectionAccess.releaseConnection( connection );
+		}
+		catch (SQLException e) {
+			log.debugf( "Unable to release Connection of detached execution : %s", e.getMessage() );
+		}
+		finally {
+			connection = null;
+		}
+	}
+
+	private RuntimeException convert(SQLException e) {
+		return jdbcServices.getSqlExceptionHelper().convert(
+				e,
+				"JDBC exception executing SQL [" + sql + "]"
+		);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.hibernate.sql.exec.spi.PreparedStatementCreator;
+
+import org.jboss.logging.Logger;
+
+/**
+ * LRU cache of the PreparedStatements of a single JDBC Connection; see
+ * {@link PreparedStatementCaching}.
+ * <p/>
+ * Statements are handed out wrapped in a {@link CheckedOutPreparedStatement} whose
+ * {@code close()} returns the statement to the cache (after resetting it) rather than
+ * closing it, so the usual release through
+ * the {@link org.hibernate.resource.jdbc.ResourceRegistry} works unchanged.  A statement
+ * is handed out to only one user at a time; if the statement for the requested SQL is
+ * already in use, an uncached statement is created.
+ *
+ * @author agent
+ */
+class PreparedStatementCache {
+	private static final Logger log = Logger.getLogger( PreparedStatementCache.class );
+
+	private final Connection connection;
+	private final int maxSize;
+	private final LinkedHashMap<Key,CachedStatement> statements;
+
+	PreparedStatementCache(Connection connection, int maxSize) {
+		this.connection = connection;
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<>( 16, 0.75f, true );
+	}
+
+	Connection getConnection() {
+		return connection;
+	}
+
+	synchronized PreparedStatement checkOut(String sql, PreparedStatementCreator creator) throws SQLException {
+		final Key key = new Key( sql, creator );
+		CachedStatement cached = statements.get( key );
+		if ( cached != null ) {
+			if ( cached.inUse ) {
+				log.tracef( "Cached PreparedStatement in use, creating uncached statement : %s", sql );
+				return creator.create( connection, sql );
+			}
+		}
+		else {
+			cached = new CachedStatement( key, creator.create( connection, sql ) );
+			statements.put( key, cached );
+			evictIfNeeded();
+		}
+
+		return cached.checkOut();
+	}
+
+	private void evictIfNeeded() {
+		final Iterator<CachedStatement> iterator = statements.values().iterator();
+		while ( statements.size() > maxSize && iterator.hasNext() ) {
+			final CachedStatement eldest = iterator.next();
+			iterator.remove();
+			eldest.evicted = true;
+			if ( !eldest.inUse ) {
+				eldest.closeQuietly();
+			}
+			// otherwise it is closed when checked back in
+		}
+	}
+
+	private synchronized void checkIn(CachedStatement cached) {
+		cached.inUse = false;
+		if ( cached.evicted ) {
+			cached.closeQuietly();
+			return;
+		}
+
+		try {
+			cached.reset();
+		}
+		catch (SQLException e) {
+			log.debugf( "Unable to reset cached PreparedStatement, discarding : %s", e.getMessage() );
+			statements.remove( cached.key );
+			cached.closeQuietly();
+		}
+	}
+
+	/**
+	 * Close all cached statements, e.g. because the Connection was closed
+	 */
+	synchronized void clear() {
+		for ( CachedStatement cached : statements.values() ) {
+			cached.evicted = true;
+			if ( !cached.inUse ) {
+				cached.closeQuietly();
+			}
+		}
+		statements.clear();
+	}
+
+	private static class Key {
+		private final String sql;
+		// the creator determines the ResultSet type, concurrency and holdability
+		private final PreparedStatementCreator creator;
+		private final int hashCode;
+
+		private Key(String sql, PreparedStatementCreator creator) {
+			this.sql = sql;
+			this.creator = creator;
+			this.hashCode = 31 * sql.hashCode() + creator.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return creator == that.creator && sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private class CachedStatement {
+		private final Key key;
+		private final PreparedStatement statement;
+
+		// the settings we change (see SqlTreeExecutorImpl), to restore on check-in
+		private final int initialFetchSize;
+		private final int initialMaxRows;
+		private final int initialQueryTimeout;
+
+		private boolean inUse;
+		private boolean evicted;
+
+		private CachedStatement(Key key, PreparedStatement statement) throws SQLException {
+			this.key = key;
+			this.statement = statement;
+			this.initialFetchSize = statement.getFetchSize();
+			this.initialMaxRows = statement.getMaxRows();
+			this.initialQueryTimeout = statement.getQueryTimeout();
+		}
+
+		private PreparedStatement checkOut() {
+			inUse = true;
+			return new CheckedOutPreparedStatement( statement, () -> checkIn( this ) );
+		}
+
+		private void reset() throws SQLException {
+			statement.clearParameters();
+			statement.clearWarnings();
+			if ( statement.getFetchSize() != initialFetchSize ) {
+				statement.setFetchSize( initialFetchSize );
+			}
+			if ( statement.getMaxRows() != initialMaxRows ) {
+				statement.setMaxRows( initialMaxRows );
+			}
+			if ( statement.getQueryTimeout() != initialQueryTimeout ) {
+				statement.setQueryTimeout( initialQueryTimeout );
+			}
+		}
+
+		private void closeQuietly() {
+			try {
+				statement.close();
+			}
+			catch (SQLException e) {
+				log.debugf( "Unable to close cached PreparedStatement : %s", e.getMessage() );
+			}
+		}
+	}
+}
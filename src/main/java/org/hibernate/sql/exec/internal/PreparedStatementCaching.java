@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.sql.exec.spi.PreparedStatementCreator;
+
+/**
+ * Caching of the PreparedStatements of each Session's JDBC Connection (see
+ * {@link PreparedStatementCache}), keyed by the SQL and the PreparedStatementCreator
+ * (which determines the ResultSet type, concurrency and holdability).  Useful when
+ * neither the connection pool nor the driver caches statements.
+ * <p/>
+ * Enabled by setting {@link #STATEMENT_CACHE_SIZE} to the number of statements to
+ * cache per Connection.  The setting is resolved once, for the SessionFactory; see
+ * {@link org.hibernate.query.proposed.spi.QueryEngine#getPreparedStatementCaching()}.
+ * <p/>
+ * The cached statements of a Session are closed as the Session releases its Connection
+ * ({@code jdbcConnectionReleaseStart}), so they only live as long as the Session holds
+ * the Connection : with the default connection release mode (after transaction) that is
+ * a single transaction.  Statements are only re-used across transactions when the
+ * Connection is held longer (ON_CLOSE release mode, or a user-supplied Connection).
+ *
+ * @author agent
+ */
+public class PreparedStatementCaching {
+	/**
+	 * Setting for the maximum number of PreparedStatements to cache per JDBC Connection.
+	 * Caching is disabled (the default) if not positive.
+	 */
+	public static final String STATEMENT_CACHE_SIZE = "hibernate.jdbc.prepared_statement_cache_size";
+
+	private final int maxSize;
+
+	// keyed by the Session's JdbcCoordinator; weakly, as Sessions using a user-supplied
+	// Connection are not told about that Connection being released
+	private final Map<JdbcCoordinator,SessionStatementCache> sessionCaches;
+
+	public PreparedStatementCaching(Map settings) {
+		this.maxSize = ConfigurationHelper.getInt( STATEMENT_CACHE_SIZE, settings, 0 );
+		this.sessionCaches = Collections.synchronizedMap( new WeakHashMap<>() );
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Prepare the statement on the Session's Connection, re-using a cached statement if
+	 * caching is enabled
+	 */
+	public PreparedStatement prepareStatement(
+			PreparedStatementCreator creator,
+			String sql,
+			SharedSessionContractImplementor session) throws SQLException {
+		final Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+		if ( !isEnabled() ) {
+			return creator.create( connection, sql );
+		}
+
+		return resolveSessionCache( session ).resolve( connection ).checkOut( sql, creator );
+	}
+
+	private SessionStatementCache resolveSessionCache(SharedSessionContractImplementor session) {
+		final JdbcCoordinator key = session.getJdbcCoordinator();
+		SessionStatementCache sessionCache = sessionCaches.get( key );
+		if ( sessionCache == null ) {
+			sessionCache = new SessionStatementCache( maxSize );
+			sessionCaches.put( key, sessionCache );
+			session.getEventListenerManager().addListener( sessionCache );
+		}
+		return sessionCache;
+	}
+
+	/**
+	 * Close all cached statements; called as the SessionFactory is closed
+	 */
+	public void close() {
+		synchronized ( sessionCaches ) {
+			for ( SessionStatementCache sessionCache : sessionCaches.values() ) {
+				sessionCache.clear();
+			}
+			sessionCaches.clear();
+		}
+	}
+
+	/**
+	 * The statement cache of a Session, for the Connection it currently holds.  Registered
+	 * as a SessionEventListener to close the statements before the Connection is released.
+	 */
+	private static class SessionStatementCache extends BaseSessionEventListener {
+		private final int maxSize;
+		private transient PreparedStatementCache statementCache;
+
+		private SessionStatementCache(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		private synchronized PreparedStatementCache resolve(Connection connection) {
+			if ( statementCache == null || statementCache.getConnection() != connection ) {
+				clear();
+				statementCache = new PreparedStatementCache( connection, maxSize );
+			}
+			return statementCache;
+		}
+
+		@Override
+		public void jdbcConnectionReleaseStart() {
+			clear();
+		}
+
+		private synchronized void clear() {
+			if ( statementCache != null ) {
+				statementCache.clear();
+				statementCache = null;
+			}
+		}
+	}
+}
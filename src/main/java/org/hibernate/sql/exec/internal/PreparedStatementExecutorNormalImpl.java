@@ -39,10 +39,15 @@ public class PreparedStatementExecutorNormalImpl<T> implements PreparedStatement
 	 */
 	public static final PreparedStatementExecutorNormalImpl INSTANCE = new PreparedStatementExecutorNormalImpl();
 
+	/**
+	 * Upper bound for pre-sizing the results List from the max-rows of the Limit
+	 */
+	private static final int MAX_PRESIZE = 1024;
+
 	/**
 	 * Processing options effectively are only used for entity loading.  Here we don't need these values.
 	 */
-	private final ResultSetProcessingOptions processingOptions = new ResultSetProcessingOptions() {
+	static final ResultSetProcessingOptions PROCESSING_OPTIONS = new ResultSetProcessingOptions() {
 		@Override
 		public Object getEffectiveOptionalObject() {
 			return null;
@@ -68,6 +73,7 @@ public class PreparedStatementExecutorNormalImpl<T> implements PreparedStatement
 	public List<T> execute(
 			PreparedStatement ps,
 			QueryOptions queryOptions,
+			int rowsToSkip,
 			List<Return> returns,
 			RowTransformer<T> rowTransformer,
 			SharedSessionContractImplementor session) throws SQLException {
@@ -78,45 +84,73 @@ public class PreparedStatementExecutorNormalImpl<T> implements PreparedStatement
 		logicalConnection.getResourceRegistry().register( resultSet, ps );
 
 		try {
-			int position = 1;
-
-			// Prepare the ResultSetProcessingState...
-			final ResultSetProcessingState resultSetProcessingState = new ResultSetProcessingStateStandardImpl(
-					resultSet,
-					queryOptions,
-					returns,
-					session
-			);
-
-			final RowReader<T> rowReader = new RowReaderStandardImpl<T>( returns, rowTransformer );
-
-			final List<T> results = new ArrayList<T>();
-			final Integer maxRows = queryOptions.getLimit().getMaxRows();
-
-			try {
-				while ( ( maxRows != null && position <= maxRows ) || resultSet.next() ) {
-					results.add(
-							rowReader.readRow(
-									resultSetProcessingState.getCurrentRowProcessingState(),
-									processingOptions
-							)
-					);
-
-					position++;
-					resultSetProcessingState.getCurrentRowProcessingState().finishRowProcessing();
-				}
-
-				resultSetProcessingState.finishResultSetProcessing();
-			}
-			finally {
-				resultSetProcessingState.release();
-			}
-
-			return results;
+			return readRows( resultSet, queryOptions, rowsToSkip, returns, rowTransformer, session );
 		}
 		finally {
 			logicalConnection.getResourceRegistry().release( resultSet, ps );
 			logicalConnection.getResourceRegistry().release( ps );
 		}
 	}
+
+	/**
+	 * Reads all the rows of the (executed) ResultSet, returning the transformed results
+	 */
+	static <T> List<T> readRows(
+			ResultSet resultSet,
+			QueryOptions queryOptions,
+			int rowsToSkip,
+			List<Return> returns,
+			RowTransformer<T> rowTransformer,
+			SharedSessionContractImplementor session) throws SQLException {
+		// Prepare the ResultSetProcessingState...
+		final ResultSetProcessingState resultSetProcessingState = new ResultSetProcessingStateStandardImpl(
+				resultSet,
+				queryOptions,
+				returns,
+				session
+		);
+
+		final RowReader<T> rowReader = new RowReaderStandardImpl<T>( returns, rowTransformer );
+
+		final Integer limitMaxRows = queryOptions.getLimit().getMaxRows();
+		final int maxRows = limitMaxRows == null ? Integer.MAX_VALUE : limitMaxRows;
+		final List<T> results = limitMaxRows == null
+				? new ArrayList<>()
+				: new ArrayList<>( Math.min( maxRows, MAX_PRESIZE ) );
+
+		try {
+			skipRows( resultSet, rowsToSkip );
+
+			// NOTE : the limit is generally already applied in the SQL (or by Statement#setMaxRows);
+			// 		here we just make sure we stop reading as soon as it is reached
+			int rowsRead = 0;
+			while ( rowsRead < maxRows && resultSet.next() ) {
+				results.add(
+						rowReader.readRow(
+								resultSetProcessingState.getCurrentRowProcessingState(),
+								PROCESSING_OPTIONS
+						)
+				);
+
+				rowsRead++;
+				resultSetProcessingState.getCurrentRowProcessingState().finishRowProcessing();
+			}
+
+			resultSetProcessingState.finishResultSetProcessing();
+		}
+		finally {
+			resultSetProcessingState.release();
+		}
+
+		return results;
+	}
+
+	static void skipRows(ResultSet resultSet, int rowsToSkip) throws SQLException {
+		for ( int i = 0; i < rowsToSkip; i++ ) {
+			if ( !resultSet.next() ) {
+				// fewer rows than the first-row; the read loop will find none
+				return;
+			}
+		}
+	}
 }
@@ -15,8 +15,9 @@ import org.hibernate.ScrollableResults;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
-import org.hibernate.sql.convert.spi.NotYetImplementedException;
 import org.hibernate.sql.convert.spi.Return;
+import org.hibernate.sql.exec.results.internal.ResultSetProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.internal.RowReaderStandardImpl;
 import org.hibernate.sql.exec.spi.PreparedStatementExecutor;
 import org.hibernate.sql.exec.spi.RowTransformer;
 
@@ -25,6 +26,7 @@ import org.hibernate.sql.exec.spi.RowTransformer;
  *     <li>calls {@link PreparedStatement#executeQuery()}</li>
  *     <li>uses the obtained ResultSet to build a ScrollableResults and returns that</li>
  * </ol>
+ * Rows are read one at a time as the ScrollableResults is scrolled; see {@link ScrollableResultsImpl}
  *
  * @author Steve Ebersole
  */
@@ -32,12 +34,25 @@ public class PreparedStatementExecutorScrollableImpl<T> implements PreparedState
 	/**
 	 * Singleton access
 	 */
-	public static final PreparedStatementExecutorScrollableImpl INSTANCE = new PreparedStatementExecutorScrollableImpl();
+	public static final PreparedStatementExecutorScrollableImpl INSTANCE = new PreparedStatementExecutorScrollableImpl( false );
+
+	/**
+	 * Singleton access to the variant re-using a single row array for all rows; see
+	 * {@link org.hibernate.query.proposed.Query#setRowRecyclingEnabled}
+	 */
+	public static final PreparedStatementExecutorScrollableImpl RECYCLING_INSTANCE = new PreparedStatementExecutorScrollableImpl( true );
+
+	private final boolean recycleRows;
+
+	private PreparedStatementExecutorScrollableImpl(boolean recycleRows) {
+		this.recycleRows = recycleRows;
+	}
 
 	@Override
 	public ScrollableResults execute(
 			PreparedStatement ps,
 			QueryOptions queryOptions,
+			int rowsToSkip,
 			List<Return> returns,
 			RowTransformer<T> rowTransformer,
 			SharedSessionContractImplementor session) throws SQLException {
@@ -47,14 +62,24 @@ public class PreparedStatementExecutorScrollableImpl<T> implements PreparedState
 		final ResultSet resultSet = ps.executeQuery();
 		logicalConnection.getResourceRegistry().register( resultSet, ps );
 
-//		new ScrollableResultsImpl(
-//				resultSet,
-//				rowTransformer,
-//				new ScrollableRowReader(
-//						returns,
-//		...
-//		)
-//		);
-		throw new NotYetImplementedException();
+		try {
+			PreparedStatementExecutorNormalImpl.skipRows( resultSet, rowsToSkip );
+
+			// NOTE : the ResultSet is handed off to the ScrollableResults which
+			// 		releases it (and the PreparedStatement) when closed
+			return new ScrollableResultsImpl<>(
+					resultSet,
+					ps,
+					new ResultSetProcessingStateStandardImpl( resultSet, queryOptions, returns, session ),
+					new RowReaderStandardImpl<>( returns, rowTransformer, recycleRows ),
+					returns,
+					session
+			);
+		}
+		catch (SQLException | RuntimeException e) {
+			logicalConnection.getResourceRegistry().release( resultSet, ps );
+			logicalConnection.getResourceRegistry().release( ps );
+			throw e;
+		}
 	}
 }
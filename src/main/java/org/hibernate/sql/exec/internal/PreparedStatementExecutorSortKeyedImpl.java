@@ -0,0 +1,75 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.sql.convert.spi.Return;
+import org.hibernate.sql.exec.results.internal.ResultSetProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.internal.RowReaderStandardImpl;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+import org.hibernate.sql.exec.spi.PreparedStatementExecutor;
+import org.hibernate.sql.exec.spi.RowTransformer;
+
+/**
+ * PreparedStatement execution for merging the ordered results of multiple queries, which:<ol>
+ *     <li>calls {@link PreparedStatement#executeQuery()}</li>
+ *     <li>uses the obtained ResultSet to build a {@link SortKeyedRowCursor} and returns that</li>
+ * </ol>
+ * The executed JdbcSelect must have been rendered with sort keys; see {@link JdbcSelect#getSortKeys()}
+ *
+ * @author agent
+ */
+public class PreparedStatementExecutorSortKeyedImpl<T> implements PreparedStatementExecutor<SortKeyedRowCursor<T>, T> {
+	private final List<JdbcSelect.SortKey> sortKeys;
+
+	public PreparedStatementExecutorSortKeyedImpl(List<JdbcSelect.SortKey> sortKeys) {
+		this.sortKeys = sortKeys;
+	}
+
+	@Override
+	public SortKeyedRowCursor<T> execute(
+			PreparedStatement ps,
+			QueryOptions queryOptions,
+			int rowsToSkip,
+			List<Return> returns,
+			RowTransformer<T> rowTransformer,
+			SharedSessionContractImplementor session) throws SQLException {
+		final LogicalConnectionImplementor logicalConnection = session.getJdbcCoordinator().getLogicalConnection();
+
+		// Execute the query
+		final ResultSet resultSet = ps.executeQuery();
+		logicalConnection.getResourceRegistry().register( resultSet, ps );
+
+		try {
+			PreparedStatementExecutorNormalImpl.skipRows( resultSet, rowsToSkip );
+
+			// NOTE : the ResultSet is handed off to the cursor which releases it
+			// 		(and the PreparedStatement) when closed
+			return new SortKeyedRowCursor<>(
+					resultSet,
+					ps,
+					new ResultSetProcessingStateStandardImpl( resultSet, queryOptions, returns, session ),
+					new RowReaderStandardImpl<>( returns, rowTransformer ),
+					sortKeys,
+					SortKeyedRowCursor.resolveNullsFirst( sortKeys, ps.getConnection().getMetaData() ),
+					session
+			);
+		}
+		catch (SQLException | RuntimeException e) {
+			logicalConnection.getResourceRegistry().release( resultSet, ps );
+			logicalConnection.getResourceRegistry().release( ps );
+			throw e;
+		}
+	}
+}
@@ -37,4 +37,15 @@ public class RowTransformerNestingImpl implements RowTransformer {
 
 		return outerTransformer.transformRow( innerResultRow );
 	}
+
+	@Override
+	public boolean isSessionIndependent() {
+		return innerTransformer.isSessionIndependent() && outerTransformer.isSessionIndependent();
+	}
+
+	@Override
+	public boolean isRowRetained() {
+		// the inner result may be the row itself, handed to the outer transformer
+		return innerTransformer.isRowRetained() || outerTransformer.isRowRetained();
+	}
 }
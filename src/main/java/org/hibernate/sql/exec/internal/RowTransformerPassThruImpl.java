@@ -23,4 +23,9 @@ public class RowTransformerPassThruImpl implements RowTransformer<Object[]> {
 	public Object[] transformRow(Object[] row) {
 		return row;
 	}
+
+	@Override
+	public boolean isSessionIndependent() {
+		return true;
+	}
 }
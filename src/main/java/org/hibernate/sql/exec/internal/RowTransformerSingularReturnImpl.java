@@ -22,4 +22,14 @@ public class RowTransformerSingularReturnImpl<R> implements RowTransformer<R> {
 	public R transformRow(Object[] row) {
 		return (R) row[0];
 	}
+
+	@Override
+	public boolean isSessionIndependent() {
+		return true;
+	}
+
+	@Override
+	public boolean isRowRetained() {
+		return false;
+	}
 }
@@ -0,0 +1,462 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.sql.convert.spi.Return;
+import org.hibernate.sql.exec.results.internal.ReturnReaderScalarImpl;
+import org.hibernate.sql.exec.results.internal.ReturnReaderShallowEntityImpl;
+import org.hibernate.sql.exec.results.internal.RowProcessingStateDetachedImpl;
+import org.hibernate.sql.exec.results.spi.ResultSetProcessingState;
+import org.hibernate.sql.exec.results.spi.ReturnReader;
+import org.hibernate.sql.exec.results.spi.RowProcessingState;
+import org.hibernate.sql.exec.results.spi.RowReader;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * ScrollableResults implementation over an open JDBC ResultSet.  Only the row at
+ * the current ResultSet position is read (and transformed); nothing is buffered,
+ * so scrolling through any number of rows requires constant memory.
+ * <p/>
+ * The JDBC resources are held open until {@link #close()} is called.
+ *
+ * @author agent
+ */
+public class ScrollableResultsImpl<T> implements ScrollableResultsImplementor {
+	private static final Logger log = Logger.getLogger( ScrollableResultsImpl.class );
+
+	private final ResultSet resultSet;
+	private final PreparedStatement ps;
+	private final ResultSetProcessingState resultSetProcessingState;
+	private final RowReader<T> rowReader;
+	private final Type[] returnTypes;
+	private final int numberOfJdbcValues;
+	private final SharedSessionContractImplementor session;
+
+	private T currentRow;
+	private boolean closed;
+
+	public ScrollableResultsImpl(
+			ResultSet resultSet,
+			PreparedStatement ps,
+			ResultSetProcessingState resultSetProcessingState,
+			RowReader<T> rowReader,
+			List<Return> returns,
+			SharedSessionContractImplementor session) {
+		this.resultSet = resultSet;
+		this.ps = ps;
+		this.resultSetProcessingState = resultSetProcessingState;
+		this.rowReader = rowReader;
+		this.returnTypes = resolveReturnTypes( returns );
+		this.numberOfJdbcValues = countJdbcValues( returns, session );
+		this.session = session;
+	}
+
+	private static int countJdbcValues(List<Return> returns, SharedSessionContractImplementor session) {
+		int count = 0;
+		for ( Return queryReturn : returns ) {
+			count += queryReturn.getReturnReader().getNumberOfColumnsRead( session.getFactory() );
+		}
+		return count;
+	}
+
+	/**
+	 * The Type of each return, if it has one : dynamic instantiations have no Type
+	 */
+	private static Type[] resolveReturnTypes(List<Return> returns) {
+		final Type[] returnTypes = new Type[ returns.size() ];
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			final ReturnReader returnReader = returns.get( i ).getReturnReader();
+			if ( returnReader instanceof ReturnReaderScalarImpl ) {
+				returnTypes[i] = ( (ReturnReaderScalarImpl) returnReader ).getReturnType();
+			}
+			else if ( returnReader instanceof ReturnReaderShallowEntityImpl ) {
+				returnTypes[i] = ( (ReturnReaderShallowEntityImpl) returnReader ).getEntityType();
+			}
+		}
+		return returnTypes;
+	}
+
+	@Override
+	public T getCurrentRow() {
+		return currentRow;
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public int getNumberOfTypes() {
+		return returnTypes.length;
+	}
+
+	@Override
+	public void close() {
+		if ( closed ) {
+			// noop if already closed
+			return;
+		}
+		closed = true;
+		currentRow = null;
+
+		try {
+			resultSetProcessingState.finishResultSetProcessing();
+		}
+		finally {
+			resultSetProcessingState.release();
+
+			final LogicalConnectionImplementor logicalConnection = session.getJdbcCoordinator().getLogicalConnection();
+			logicalConnection.getResourceRegistry().release( resultSet, ps );
+			logicalConnection.getResourceRegistry().release( ps );
+			logicalConnection.afterStatement();
+		}
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// positioning
+	//
+	// 		NOTE : the scroll-mode used to create the PreparedStatement determines
+	// 		which of these are supported; a FORWARD_ONLY ResultSet only supports #next
+
+	@Override
+	public boolean next() {
+		try {
+			return afterScrollOperation( resultSet.next() );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error advancing (next) ResultSet position" );
+		}
+	}
+
+	@Override
+	public boolean previous() {
+		try {
+			return afterScrollOperation( resultSet.previous() );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (previous) ResultSet position" );
+		}
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		try {
+			return afterScrollOperation( resultSet.relative( positions ) );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error scrolling ResultSet position" );
+		}
+	}
+
+	@Override
+	public boolean last() {
+		try {
+			return afterScrollOperation( resultSet.last() );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (last) ResultSet position" );
+		}
+	}
+
+	@Override
+	public boolean first() {
+		try {
+			return afterScrollOperation( resultSet.first() );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (first) ResultSet position" );
+		}
+	}
+
+	@Override
+	public void beforeFirst() {
+		try {
+			resultSet.beforeFirst();
+			afterScrollOperation( false );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (beforeFirst) ResultSet position" );
+		}
+	}
+
+	@Override
+	public void afterLast() {
+		try {
+			resultSet.afterLast();
+			afterScrollOperation( false );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (afterLast) ResultSet position" );
+		}
+	}
+
+	@Override
+	public boolean isFirst() {
+		try {
+			return resultSet.isFirst();
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error checking ResultSet position (isFirst)" );
+		}
+	}
+
+	@Override
+	public boolean isLast() {
+		try {
+			return resultSet.isLast();
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error checking ResultSet position (isLast)" );
+		}
+	}
+
+	@Override
+	public int getRowNumber() {
+		try {
+			return resultSet.getRow() - 1;
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error accessing ResultSet row number" );
+		}
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		if ( rowNumber >= 0 ) {
+			// ScrollableResults row numbers are zero-based, JDBC's are one-based
+			rowNumber++;
+		}
+
+		try {
+			return afterScrollOperation( resultSet.absolute( rowNumber ) );
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error moving (absolute) ResultSet position" );
+		}
+	}
+
+	private boolean afterScrollOperation(boolean positionedOnRow) throws SQLException {
+		if ( !positionedOnRow ) {
+			currentRow = null;
+			return false;
+		}
+
+		currentRow = rowReader.readRow(
+				resultSetProcessingState.getCurrentRowProcessingState(),
+				PreparedStatementExecutorNormalImpl.PROCESSING_OPTIONS
+		);
+		resultSetProcessingState.getCurrentRowProcessingState().finishRowProcessing();
+		return true;
+	}
+
+	@Override
+	public List<Object[]> readJdbcValues(int batchSize) {
+		currentRow = null;
+
+		final List<Object[]> batch = new ArrayList<>( batchSize );
+		try {
+			while ( batch.size() < batchSize && resultSet.next() ) {
+				// the values are read straight into the array handed out for the row
+				final Object[] jdbcValues = new Object[ numberOfJdbcValues ];
+				final RowProcessingState rowProcessingState = new RowProcessingStateDetachedImpl(
+						resultSetProcessingState,
+						jdbcValues
+				);
+				rowReader.readJdbcValues( rowProcessingState, PreparedStatementExecutorNormalImpl.PROCESSING_OPTIONS );
+				batch.add( jdbcValues );
+				rowProcessingState.finishRowProcessing();
+			}
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error reading batch of JDBC values" );
+		}
+		return batch;
+	}
+
+	@Override
+	public boolean isDetachedAssemblySupported() {
+		return rowReader.isDetachedAssemblySupported();
+	}
+
+	@Override
+	public boolean isRowRecycled() {
+		return rowReader.isRowRecycled();
+	}
+
+	@Override
+	public T assembleRow(Object[] jdbcValues) {
+		if ( closed ) {
+			throw new IllegalStateException( "ScrollableResults is closed" );
+		}
+		if ( !rowReader.isDetachedAssemblySupported() ) {
+			throw new IllegalStateException( "Rows of this query cannot be assembled detached from the Session" );
+		}
+
+		try {
+			return rowReader.assembleRow(
+					new RowProcessingStateDetachedImpl( resultSetProcessingState, jdbcValues ),
+					PreparedStatementExecutorNormalImpl.PROCESSING_OPTIONS
+			);
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error assembling row" );
+		}
+	}
+
+	private HibernateException convert(SQLException e, String message) {
+		log.debugf( "%s : %s", message, e.getMessage() );
+		return session.getJdbcServices().getSqlExceptionHelper().convert( e, message );
+	}
+
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// value access
+
+	@Override
+	public Object[] get() {
+		if ( closed ) {
+			throw new IllegalStateException( "ScrollableResults is closed" );
+		}
+
+		// a transformed row may not be an Object[] (Tuple, dynamic-instantiation, etc)
+		if ( currentRow == null || currentRow instanceof Object[] ) {
+			return (Object[]) currentRow;
+		}
+		return new Object[] { currentRow };
+	}
+
+	@Override
+	public Object get(int i) {
+		final Object[] row = get();
+		return row == null ? null : row[i];
+	}
+
+	/**
+	 * The Type of the i-th return, or {@code null} for a dynamic instantiation
+	 */
+	@Override
+	public Type getType(int i) {
+		return returnTypes[i];
+	}
+
+	@Override
+	public Integer getInteger(int col) {
+		return (Integer) get( col );
+	}
+
+	@Override
+	public Long getLong(int col) {
+		return (Long) get( col );
+	}
+
+	@Override
+	public Float getFloat(int col) {
+		return (Float) get( col );
+	}
+
+	@Override
+	public Boolean getBoolean(int col) {
+		return (Boolean) get( col );
+	}
+
+	@Override
+	public Double getDouble(int col) {
+		return (Double) get( col );
+	}
+
+	@Override
+	public Short getShort(int col) {
+		return (Short) get( col );
+	}
+
+	@Override
+	public Byte getByte(int col) {
+		return (Byte) get( col );
+	}
+
+	@Override
+	public Character getCharacter(int col) {
+		return (Character) get( col );
+	}
+
+	@Override
+	public byte[] getBinary(int col) {
+		return (byte[]) get( col );
+	}
+
+	@Override
+	public String getText(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public Blob getBlob(int col) {
+		return (Blob) get( col );
+	}
+
+	@Override
+	public Clob getClob(int col) {
+		return (Clob) get( col );
+	}
+
+	@Override
+	public String getString(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int col) {
+		return (BigDecimal) get( col );
+	}
+
+	@Override
+	public BigInteger getBigInteger(int col) {
+		return (BigInteger) get( col );
+	}
+
+	@Override
+	public Date getDate(int col) {
+		return (Date) get( col );
+	}
+
+	@Override
+	public Locale getLocale(int col) {
+		return (Locale) get( col );
+	}
+
+	@Override
+	public Calendar getCalendar(int col) {
+		return (Calendar) get( col );
+	}
+
+	@Override
+	public TimeZone getTimeZone(int col) {
+		return (TimeZone) get( col );
+	}
+}
@@ -0,0 +1,298 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.HibernateException;
+import org.hibernate.QueryException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.sql.exec.results.spi.ResultSetProcessingState;
+import org.hibernate.sql.exec.results.spi.RowProcessingState;
+import org.hibernate.sql.exec.results.spi.RowReader;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Forward-only cursor over the (ordered) results of a JdbcSelect rendered with sort keys,
+ * exposing the sort key values of the current row before the row is assembled.  Used
+ * to merge the results of multiple identically ordered queries; see
+ * {@link #compareTo(SortKeyedRowCursor)}.
+ * <p/>
+ * {@link #next()} only reads the JDBC values of the row; the row is assembled (entities
+ * loaded, etc) by {@link #getCurrentRow()}, so rows which end up not being consumed are
+ * never assembled.
+ * <p/>
+ * Nulls are ordered as rendered for the sort key, or, if no null precedence was rendered,
+ * as the database orders them by default (as reported by its {@link DatabaseMetaData}).
+ * <p/>
+ * The JDBC resources are held open until the rows are exhausted or {@link #close()} is called.
+ *
+ * @author agent
+ */
+public class SortKeyedRowCursor<T> implements Comparable<SortKeyedRowCursor<T>> {
+	private static final Logger log = Logger.getLogger( SortKeyedRowCursor.class );
+
+	private final ResultSet resultSet;
+	private final PreparedStatement ps;
+	private final ResultSetProcessingState resultSetProcessingState;
+	private final RowReader<T> rowReader;
+	private final List<JdbcSelect.SortKey> sortKeys;
+	private final boolean[] nullsFirst;
+	private final SharedSessionContractImplementor session;
+
+	private final Object[] currentSortKeyValues;
+	private boolean closed;
+
+	public SortKeyedRowCursor(
+			ResultSet resultSet,
+			PreparedStatement ps,
+			ResultSetProcessingState resultSetProcessingState,
+			RowReader<T> rowReader,
+			List<JdbcSelect.SortKey> sortKeys,
+			boolean[] nullsFirst,
+			SharedSessionContractImplementor session) {
+		this.resultSet = resultSet;
+		this.ps = ps;
+		this.resultSetProcessingState = resultSetProcessingState;
+		this.rowReader = rowReader;
+		this.sortKeys = sortKeys;
+		this.nullsFirst = nullsFirst;
+		this.session = session;
+		this.currentSortKeyValues = new Object[ sortKeys.size() ];
+	}
+
+	/**
+	 * Resolve where the nulls of each sort key are ordered : as rendered, or as the
+	 * database orders them by default
+	 *
+	 * @return Per sort key, are nulls ordered first?
+	 */
+	static boolean[] resolveNullsFirst(List<JdbcSelect.SortKey> sortKeys, DatabaseMetaData databaseMetaData)
+			throws SQLException {
+		final boolean[] nullsFirst = new boolean[ sortKeys.size() ];
+		for ( int i = 0; i < nullsFirst.length; i++ ) {
+			final JdbcSelect.SortKey sortKey = sortKeys.get( i );
+			switch ( sortKey.getNullPrecedence() ) {
+				case FIRST: {
+					nullsFirst[i] = true;
+					break;
+				}
+				case LAST: {
+					nullsFirst[i] = false;
+					break;
+				}
+				default: {
+					nullsFirst[i] = areNullsFirstByDefault( sortKey.isDescending(), databaseMetaData );
+				}
+			}
+		}
+		return nullsFirst;
+	}
+
+	private static boolean areNullsFirstByDefault(boolean descending, DatabaseMetaData databaseMetaData)
+			throws SQLException {
+		if ( databaseMetaData.nullsAreSortedAtStart() ) {
+			return true;
+		}
+		if ( databaseMetaData.nullsAreSortedAtEnd() ) {
+			return false;
+		}
+		if ( databaseMetaData.nullsAreSortedLow() ) {
+			return !descending;
+		}
+		// nulls sorted high
+		return descending;
+	}
+
+	/**
+	 * Move to the next row, reading its sort key (and JDBC) values.  Closes the cursor
+	 * when there are no more rows.
+	 *
+	 * @return {@code false} if there are no more rows
+	 */
+	public boolean next() {
+		if ( closed ) {
+			return false;
+		}
+
+		try {
+			if ( !resultSet.next() ) {
+				close();
+				return false;
+			}
+
+			for ( int i = 0; i < sortKeys.size(); i++ ) {
+				currentSortKeyValues[i] = resultSet.getObject( sortKeys.get( i ).getPosition() );
+			}
+			rowReader.readJdbcValues(
+					resultSetProcessingState.getCurrentRowProcessingState(),
+					PreparedStatementExecutorNormalImpl.PROCESSING_OPTIONS
+			);
+			return true;
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error advancing (next) ResultSet position" );
+		}
+	}
+
+	/**
+	 * Assemble the current row
+	 */
+	public T getCurrentRow() {
+		try {
+			final RowProcessingState rowProcessingState = resultSetProcessingState.getCurrentRowProcessingState();
+			final T row = rowReader.assembleRow( rowProcessingState, PreparedStatementExecutorNormalImpl.PROCESSING_OPTIONS );
+			rowProcessingState.finishRowProcessing();
+			return row;
+		}
+		catch (SQLException e) {
+			throw convert( e, "Error assembling row" );
+		}
+	}
+
+	/**
+	 * Compare the current rows of this and the other cursor according to the sort keys
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public int compareTo(SortKeyedRowCursor<T> other) {
+		for ( int i = 0; i < sortKeys.size(); i++ ) {
+			final JdbcSelect.SortKey sortKey = sortKeys.get( i );
+			final Object value = currentSortKeyValues[i];
+			final Object otherValue = other.currentSortKeyValues[i];
+
+			final int comparison;
+			if ( value == null || otherValue == null ) {
+				if ( value == otherValue ) {
+					continue;
+				}
+				// the null precedence applies regardless of the direction
+				final int nullComparison = value == null ? 1 : -1;
+				comparison = nullsFirst[i] ? -nullComparison : nullComparison;
+			}
+			else {
+				final int valueComparison = compareValues( value, otherValue );
+				comparison = sortKey.isDescending() ? -valueComparison : valueComparison;
+			}
+
+			if ( comparison != 0 ) {
+				return comparison;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Compare two (non-null) sort key values.  Only numeric and temporal values are rendered
+	 * as sort keys (see {@link org.hibernate.sql.convert.spi.SqlTreeWalker}), though the
+	 * JDBC types (and so the Java types) may differ between the merged queries.
+	 */
+	@SuppressWarnings("unchecked")
+	static int compareValues(Object value, Object otherValue) {
+		if ( value instanceof Number && otherValue instanceof Number ) {
+			if ( value.getClass() == otherValue.getClass() && value instanceof Comparable ) {
+				return ( (Comparable) value ).compareTo( otherValue );
+			}
+			// e.g. INTEGER in one table and BIGINT in another
+			return compareNumbers( (Number) value, (Number) otherValue );
+		}
+		if ( value instanceof java.util.Date && otherValue instanceof java.util.Date ) {
+			// e.g. DATE in one table and TIMESTAMP in another
+			return ( (java.util.Date) value ).compareTo( (java.util.Date) otherValue );
+		}
+		if ( value.getClass() == otherValue.getClass() && value instanceof Comparable ) {
+			return ( (Comparable) value ).compareTo( otherValue );
+		}
+		throw new QueryException(
+				String.format(
+						Locale.ROOT,
+						"Unable to compare sort key values of types [%s] and [%s]",
+						value.getClass().getName(),
+						otherValue.getClass().getName()
+				)
+		);
+	}
+
+	private static int compareNumbers(Number value, Number otherValue) {
+		// NaN and the infinities have no BigDecimal representation; as per Double#compare,
+		// NaN is greater than any other value
+		final boolean finite = isFinite( value );
+		final boolean otherFinite = isFinite( otherValue );
+		if ( !finite && !otherFinite ) {
+			return Double.compare( value.doubleValue(), otherValue.doubleValue() );
+		}
+		if ( !finite ) {
+			return value.doubleValue() == Double.NEGATIVE_INFINITY ? -1 : 1;
+		}
+		if ( !otherFinite ) {
+			return otherValue.doubleValue() == Double.NEGATIVE_INFINITY ? 1 : -1;
+		}
+		return toBigDecimal( value ).compareTo( toBigDecimal( otherValue ) );
+	}
+
+	private static boolean isFinite(Number value) {
+		if ( value instanceof Double || value instanceof Float ) {
+			final double doubleValue = value.doubleValue();
+			return !Double.isNaN( doubleValue ) && !Double.isInfinite( doubleValue );
+		}
+		return true;
+	}
+
+	private static BigDecimal toBigDecimal(Number value) {
+		if ( value instanceof BigDecimal ) {
+			return (BigDecimal) value;
+		}
+		if ( value instanceof BigInteger ) {
+			return new BigDecimal( (BigInteger) value );
+		}
+		if ( value instanceof Double || value instanceof Float ) {
+			return BigDecimal.valueOf( value.doubleValue() );
+		}
+		if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+			return BigDecimal.valueOf( value.longValue() );
+		}
+		return BigDecimal.valueOf( value.doubleValue() );
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+
+		try {
+			resultSetProcessingState.finishResultSetProcessing();
+		}
+		finally {
+			resultSetProcessingState.release();
+
+			final LogicalConnectionImplementor logicalConnection = session.getJdbcCoordinator().getLogicalConnection();
+			logicalConnection.getResourceRegistry().release( resultSet, ps );
+			logicalConnection.getResourceRegistry().release( ps );
+			logicalConnection.afterStatement();
+		}
+	}
+
+	private HibernateException convert(SQLException e, String message) {
+		log.debugf( "%s : %s", message, e.getMessage() );
+		return session.getJdbcServices().getSqlExceptionHelper().convert( e, message );
+	}
+}
@@ -6,12 +6,16 @@
  */
 package org.hibernate.sql.exec.internal;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.Limit;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
@@ -22,6 +26,7 @@ import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.convert.spi.Callback;
 import org.hibernate.sql.convert.spi.NotYetImplementedException;
 import org.hibernate.sql.convert.spi.SqlTreeWalker;
+import org.hibernate.sql.exec.spi.JdbcSelect;
 import org.hibernate.sql.exec.spi.PreparedStatementCreator;
 import org.hibernate.sql.exec.spi.PreparedStatementExecutor;
 import org.hibernate.sql.exec.spi.RowTransformer;
@@ -33,6 +38,19 @@ import org.hibernate.sql.exec.spi.SqlTreeExecutor;
  * @author Steve Ebersole
  */
 public class SqlTreeExecutorImpl implements SqlTreeExecutor {
+	private final AdaptiveFetchSize adaptiveFetchSize;
+
+	public SqlTreeExecutorImpl() {
+		this( AdaptiveFetchSize.DISABLED );
+	}
+
+	/**
+	 * @param adaptiveFetchSize Determines the fetch size when the QueryOptions do not specify one
+	 */
+	public SqlTreeExecutorImpl(AdaptiveFetchSize adaptiveFetchSize) {
+		this.adaptiveFetchSize = adaptiveFetchSize;
+	}
+
 	@Override
 	public <R, T> R executeSelect(
 			SelectQuery sqlTree,
@@ -50,51 +68,74 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 		//		* Returns
 
 		// todo : should also pass in QueryOptions
-		// 		as the rendered SQL would depend on first/max results, comment, db-hints, lock-options, entity-graph
-
-		// todo : also need to account for multi-valued param bindings in terms of the generated SQL...
+		// 		as the rendered SQL would depend on comment, db-hints, lock-options, entity-graph
+		//		(first/max results are applied to the rendered SQL at execution time, see below)
 
 		final SqlTreeWalker sqlTreeWalker = new SqlTreeWalker( persistenceContext.getFactory(), queryParameterBindings );
 		sqlTreeWalker.visitSelectQuery( sqlTree );
 
+		return executeSelect(
+				sqlTreeWalker.toJdbcSelect(),
+				statementCreator,
+				preparedStatementExecutor,
+				queryOptions,
+				queryParameterBindings,
+				rowTransformer,
+				persistenceContext,
+				executionContext
+		);
+	}
+
+	@Override
+	public <R, T> R executeSelect(
+			JdbcSelect jdbcSelect,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor<R, T> preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext) {
 		// Now start the execution
 		final LogicalConnectionImplementor logicalConnection = persistenceContext.getJdbcCoordinator().getLogicalConnection();
-		final Connection connection = logicalConnection.getPhysicalConnection();
 
 		final JdbcServices jdbcServices = persistenceContext.getFactory().getServiceRegistry().getService( JdbcServices.class );
 
-		final String sql = sqlTreeWalker.getSql();
+		// The limit is applied here rather than in the SQL AST rendering so that the
+		// JdbcSelect (and the plan holding it) does not depend on the first/max-results
+		// values : the dialect's limit clause is added with parameter placeholders and
+		// the limit values are bound along with the query parameters
+		final RowSelection rowSelection = toRowSelection( queryOptions.getLimit() );
+		final LimitHandler limitHandler = resolveLimitHandler( rowSelection, jdbcServices );
+
+		final String sql = limitHandler.processSql( jdbcSelect.getSql(), rowSelection );
 		try {
 			jdbcServices.getSqlStatementLogger().logStatement( sql );
 
-			// prepare the query
-			final PreparedStatement ps = statementCreator.create( connection, sql );
+			// prepare the query (re-using a cached statement if statement caching is enabled)
+			final PreparedStatement ps = executionContext.getQueryEngine().getPreparedStatementCaching().prepareStatement(
+					statementCreator,
+					sql,
+					persistenceContext
+			);
 			logicalConnection.getResourceRegistry().register( ps, true );
 
-			// set options
-			if ( queryOptions.getFetchSize() != null ) {
-				ps.setFetchSize( queryOptions.getFetchSize() );
-			}
-			if ( queryOptions.getTimeout() != null ) {
-				ps.setQueryTimeout( queryOptions.getTimeout() );
-			}
-
-			// bind parameters
-			// 		todo : validate that all query parameters were bound?
-			int position = 1;
-			for ( ParameterBinder parameterBinder : sqlTreeWalker.getParameterBinders() ) {
-				position += parameterBinder.bindParameterValue(
-						ps,
-						position,
-						queryParameterBindings,
-						persistenceContext
-				);
-			}
+			final int rowsToSkip = prepareStatement(
+					ps,
+					jdbcSelect,
+					rowSelection,
+					limitHandler,
+					queryOptions,
+					queryParameterBindings,
+					adaptiveFetchSize,
+					persistenceContext
+			);
 
 			return preparedStatementExecutor.execute(
 					ps,
 					queryOptions,
-					sqlTreeWalker.getReturns(),
+					rowsToSkip,
+					jdbcSelect.getReturns(),
 					rowTransformer,
 					persistenceContext
 			);
@@ -110,6 +151,65 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 		}
 	}
 
+	/**
+	 * Applies the statement options and binds the parameter (and limit) values.
+	 *
+	 * @return The number of leading rows to skip because the SQL could not apply the first-row
+	 */
+	static int prepareStatement(
+			PreparedStatement ps,
+			JdbcSelect jdbcSelect,
+			RowSelection rowSelection,
+			LimitHandler limitHandler,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			AdaptiveFetchSize adaptiveFetchSize,
+			SharedSessionContractImplementor persistenceContext) throws SQLException {
+		// set options
+		final Integer fetchSize = queryOptions.getFetchSize() != null
+				? queryOptions.getFetchSize()
+				: adaptiveFetchSize.determineFetchSize( rowSelection.getMaxRows() );
+		if ( fetchSize != null ) {
+			ps.setFetchSize( fetchSize );
+		}
+		if ( queryOptions.getTimeout() != null ) {
+			ps.setQueryTimeout( queryOptions.getTimeout() );
+		}
+
+		// bind parameters
+		// 		todo : validate that all query parameters were bound?
+		int position = 1;
+		position += limitHandler.bindLimitParametersAtStartOfQuery( rowSelection, ps, position );
+		for ( ParameterBinder parameterBinder : jdbcSelect.getParameterBinders() ) {
+			position += parameterBinder.bindParameterValue(
+					ps,
+					position,
+					queryParameterBindings,
+					persistenceContext
+			);
+		}
+		limitHandler.bindLimitParametersAtEndOfQuery( rowSelection, ps, position );
+
+		// let the driver know about the max-rows as well (when not handled in the SQL)
+		limitHandler.setMaxRows( rowSelection, ps );
+
+		// if the SQL could not apply the first-row, the leading rows need to be skipped
+		return limitHandler.supportsLimitOffset() ? 0 : LimitHelper.getFirstRow( rowSelection );
+	}
+
+	static RowSelection toRowSelection(Limit limit) {
+		final RowSelection rowSelection = new RowSelection();
+		rowSelection.setFirstRow( limit.getFirstRow() );
+		rowSelection.setMaxRows( limit.getMaxRows() );
+		return rowSelection;
+	}
+
+	static LimitHandler resolveLimitHandler(RowSelection rowSelection, JdbcServices jdbcServices) {
+		// NOTE : some LimitHandlers are stateful, so we always ask the Dialect for the handler
+		final LimitHandler limitHandler = jdbcServices.getDialect().getLimitHandler();
+		return LimitHelper.useLimit( limitHandler, rowSelection ) ? limitHandler : NoopLimitHandler.INSTANCE;
+	}
+
 	@Override
 	public Object[] executeInsert(
 			Object sqlTree,
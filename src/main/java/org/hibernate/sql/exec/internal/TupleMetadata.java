@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.TupleElement;
+
+/**
+ * The (immutable) description of the elements of a {@link TupleImpl}, shared by all
+ * the Tuples of a query's results.  The alias and TupleElement to index lookups are
+ * resolved once, here.
+ *
+ * @author agent
+ */
+public class TupleMetadata {
+	private final List<TupleElement<?>> tupleElements;
+	private final Map<TupleElement<?>,Integer> indexByElement;
+	private final Map<String,Integer> indexByAlias;
+
+	public TupleMetadata(List<TupleElement<?>> tupleElements) {
+		this.tupleElements = Collections.unmodifiableList( new ArrayList<>( tupleElements ) );
+
+		final int size = tupleElements.size();
+		final Map<TupleElement<?>,Integer> indexByElement = new HashMap<>( size * 2 );
+		final Map<String,Integer> indexByAlias = new HashMap<>( size * 2 );
+		for ( int i = 0; i < size; i++ ) {
+			final TupleElement<?> tupleElement = tupleElements.get( i );
+			// first occurrence wins, as with a linear search
+			indexByElement.putIfAbsent( tupleElement, i );
+			if ( tupleElement.getAlias() != null && !tupleElement.getAlias().isEmpty() ) {
+				indexByAlias.putIfAbsent( tupleElement.getAlias(), i );
+			}
+		}
+		this.indexByElement = indexByElement;
+		this.indexByAlias = indexByAlias;
+	}
+
+	public List<TupleElement<?>> getTupleElements() {
+		return tupleElements;
+	}
+
+	/**
+	 * @return The index of the given element, or -1 if it is not part of the tuple
+	 */
+	public int getIndex(TupleElement<?> tupleElement) {
+		final Integer index = indexByElement.get( tupleElement );
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return The index of the element with the given alias (trimmed), or -1 if none
+	 */
+	public int getIndex(String alias) {
+		if ( alias == null ) {
+			return -1;
+		}
+		final Integer index = indexByAlias.get( alias.trim() );
+		return index == null ? -1 : index;
+	}
+}
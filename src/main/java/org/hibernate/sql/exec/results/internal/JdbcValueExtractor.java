@@ -0,0 +1,22 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.results.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Extracts the value of a single column from the ResultSet, by position.  Resolved once per column (see {@link JdbcValueExtractors#forJdbcType})
+ * when a ReturnReader is built rather than dispatching on the JDBC type code for each
+ * value read.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface JdbcValueExtractor {
+	Object extract(ResultSet resultSet, int position) throws SQLException;
+}
@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.results.internal;
+
+import java.sql.Types;
+
+import org.hibernate.sql.exec.internal.RecommendedJdbcTypeMappings;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptorRegistry;
+
+/**
+ * Resolution of the {@link JdbcValueExtractor} for a JDBC type code
+ *
+ * @author agent
+ */
+public final class JdbcValueExtractors {
+	private JdbcValueExtractors() {
+	}
+
+	/**
+	 * Resolve the extractor for the given JDBC type code.  The Java type mapping and
+	 * its JavaTypeDescriptor are resolved here, once; the returned extractor only reads
+	 * (and wraps) the value.
+	 * <p/>
+	 * For unsupported type codes the returned extractor throws
+	 * {@link UnsupportedOperationException} when (if) a value is actually read.
+	 *
+	 * @param jdbcType The JDBC type code (see {@link Types})
+	 *
+	 * @return The extractor
+	 */
+	@SuppressWarnings("unchecked")
+	public static JdbcValueExtractor forJdbcType(int jdbcType) {
+		final Class javaClassMapping = RecommendedJdbcTypeMappings.INSTANCE.determineJavaClassForJdbcTypeCode( jdbcType );
+		final JavaTypeDescriptor javaTypeDescriptor = JavaTypeDescriptorRegistry.INSTANCE.getDescriptor( javaClassMapping );
+
+		switch ( jdbcType ) {
+			case Types.BIGINT: {
+				return (resultSet, position) -> {
+					final long value = resultSet.getLong( position );
+					return resultSet.wasNull() ? null : javaTypeDescriptor.wrap( value, null );
+				};
+			}
+			case Types.BIT:
+			case Types.BOOLEAN: {
+				return (resultSet, position) -> {
+					final boolean value = resultSet.getBoolean( position );
+					return resultSet.wasNull() ? null : javaTypeDescriptor.wrap( value, null );
+				};
+			}
+			case Types.DOUBLE: {
+				return (resultSet, position) -> {
+					final double value = resultSet.getDouble( position );
+					return resultSet.wasNull() ? null : javaTypeDescriptor.wrap( value, null );
+				};
+			}
+			case Types.FLOAT: {
+				return (resultSet, position) -> {
+					final float value = resultSet.getFloat( position );
+					return resultSet.wasNull() ? null : javaTypeDescriptor.wrap( value, null );
+				};
+			}
+			case Types.INTEGER: {
+				return (resultSet, position) -> {
+					final int value = resultSet.getInt( position );
+					return resultSet.wasNull() ? null : javaTypeDescriptor.wrap( value, null );
+				};
+			}
+			case Types.CHAR:
+			case Types.LONGNVARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.VARCHAR: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getString( position ), null );
+			}
+			case Types.DATE: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getDate( position ), null );
+			}
+			case Types.DECIMAL:
+			case Types.NUMERIC: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getBigDecimal( position ), null );
+			}
+			case Types.LONGVARBINARY: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getBytes( position ), null );
+			}
+			case Types.TIME: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getTime( position ), null );
+			}
+			case Types.TIMESTAMP: {
+				return (resultSet, position) -> javaTypeDescriptor.wrap( resultSet.getTimestamp( position ), null );
+			}
+			default: {
+				return (resultSet, position) -> {
+					throw new UnsupportedOperationException( "JDBC type [" + jdbcType + " not supported" );
+				};
+			}
+		}
+	}
+}
@@ -8,32 +8,48 @@ package org.hibernate.sql.exec.results.internal;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Types;
 
 import org.hibernate.EntityMode;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
-import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.sql.exec.internal.RecommendedJdbcTypeMappings;
 import org.hibernate.sql.exec.results.spi.ResultSetProcessingOptions;
 import org.hibernate.sql.exec.results.spi.ReturnReader;
 import org.hibernate.sql.exec.results.spi.RowProcessingState;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.Type;
-import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
-import org.hibernate.type.descriptor.java.JavaTypeDescriptorRegistry;
 
 /**
+ * ReturnReader for a scalar (basic or simple composite) selection.
+ * <p/>
+ * The number of columns and a {@link JdbcValueExtractor} per column are resolved
+ * once when the reader is built, so reading a row does no Type or JDBC type code
+ * lookups.  Values are normally extracted straight into the row as it is assembled;
+ * only rows read ahead for later (detached) assembly capture their JDBC values first
+ * (see {@link RowProcessingState#getJdbcValues()}).
+ *
  * @author Steve Ebersole
  */
 public class ReturnReaderScalarImpl implements ReturnReader {
 	private final int startPosition;
 	private final Type returnType;
+	private final int columnSpan;
+	private final JdbcValueExtractor[] extractors;
+
+	public ReturnReaderScalarImpl(int startPosition, Type returnType, SessionFactoryImplementor sessionFactory) {
+		assert returnType != null;
 
-	public ReturnReaderScalarImpl(int startPosition, Type returnType) {
 		this.startPosition = startPosition;
 		this.returnType = returnType;
 
-		assert returnType != null;
+		final int[] jdbcTypes = returnType.sqlTypes( sessionFactory );
+		this.columnSpan = jdbcTypes.length;
+		this.extractors = new JdbcValueExtractor[ columnSpan ];
+		for ( int i = 0; i < columnSpan; i++ ) {
+			extractors[i] = JdbcValueExtractors.forJdbcType( jdbcTypes[i] );
+		}
+	}
+
+	public Type getReturnType() {
+		return returnType;
 	}
 
 	@Override
@@ -43,12 +59,29 @@ public class ReturnReaderScalarImpl implements ReturnReader {
 
 	@Override
 	public int getNumberOfColumnsRead(SessionFactoryImplementor sessionFactory) {
-		return returnType.sqlTypes( sessionFactory ).length;
+		return columnSpan;
 	}
 
 	@Override
-	public void readBasicValues(RowProcessingState processingState, ResultSetProcessingOptions options) {
-		// nothing to do
+	public boolean isSessionIndependent() {
+		return true;
+	}
+
+	@Override
+	public void readBasicValues(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		// for now we assume basic types with no attribute conversion etc.
+		// a more correct implementation requires the "positional read" changes to Type.
+
+		final Object[] jdbcValues = processingState.getJdbcValues();
+		if ( jdbcValues == null ) {
+			// the values are read as the row is assembled
+			return;
+		}
+
+		final ResultSet resultSet = processingState.getResultSetProcessingState().getResultSet();
+		for ( int i = 0; i < columnSpan; i++ ) {
+			jdbcValues[startPosition - 1 + i] = extractors[i].extract( resultSet, startPosition + i );
+		}
 	}
 
 	@Override
@@ -58,20 +91,20 @@ public class ReturnReaderScalarImpl implements ReturnReader {
 
 	@Override
 	public Object assemble(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
-		// for now we assume basic types with no attribute conversion etc.
-		// a more correct implementation requires the "positional read" changes to Type.
-
-		final SharedSessionContractImplementor session = processingState.getResultSetProcessingState().getSession();
-		final ResultSet resultSet = processingState.getResultSetProcessingState().getResultSet();
+		final Object[] jdbcValues = processingState.getJdbcValues();
 
-		final int columnSpan = returnType.getColumnSpan( session.getFactory() );
-		final int[] jdbcTypes = returnType.sqlTypes( session.getFactory() );
 		if ( columnSpan > 1 ) {
 			// has to be a CompositeType for now (and a very basic, one-level one)...
 			final CompositeType ctype = (CompositeType) returnType;
 			final Object[] values = new Object[ columnSpan ];
-			for ( int i = 0; i < columnSpan; i++ ) {
-				values[i] = readResultValue( resultSet, startPosition+i, jdbcTypes[i] );
+			if ( jdbcValues == null ) {
+				final ResultSet resultSet = processingState.getResultSetProcessingState().getResultSet();
+				for ( int i = 0; i < columnSpan; i++ ) {
+					values[i] = extractors[i].extract( resultSet, startPosition + i );
+				}
+			}
+			else {
+				System.arraycopy( jdbcValues, startPosition - 1, values, 0, columnSpan );
 			}
 			try {
 				final Object result = ctype.getReturnedClass().newInstance();
@@ -82,72 +115,11 @@ public class ReturnReaderScalarImpl implements ReturnReader {
 				throw new RuntimeException( "Unable to instantiate composite : " +  ctype.getReturnedClass().getName(), e );
 			}
 		}
-		else {
-			return readResultValue( resultSet, startPosition, jdbcTypes[0] );
+		else if ( jdbcValues == null ) {
+			return extractors[0].extract( processingState.getResultSetProcessingState().getResultSet(), startPosition );
 		}
-	}
-
-	private Object readResultValue(ResultSet resultSet, int position, int jdbcType) throws SQLException {
-		final Class javaClassMapping = RecommendedJdbcTypeMappings.INSTANCE.determineJavaClassForJdbcTypeCode( jdbcType );
-		final JavaTypeDescriptor javaTypeDescriptor = JavaTypeDescriptorRegistry.INSTANCE.getDescriptor( javaClassMapping );
-
-		switch ( jdbcType ) {
-			case Types.BIGINT: {
-				return javaTypeDescriptor.wrap( resultSet.getLong( position ), null );
-			}
-			case Types.BIT: {
-				return javaTypeDescriptor.wrap( resultSet.getBoolean( position ), null );
-			}
-			case Types.BOOLEAN: {
-				return javaTypeDescriptor.wrap( resultSet.getBoolean( position ), null );
-			}
-			case Types.CHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
-			case Types.DATE: {
-				return javaTypeDescriptor.wrap( resultSet.getDate( position ), null );
-			}
-			case Types.DECIMAL: {
-				return javaTypeDescriptor.wrap( resultSet.getBigDecimal( position ), null );
-			}
-			case Types.DOUBLE: {
-				return javaTypeDescriptor.wrap( resultSet.getDouble( position ), null );
-			}
-			case Types.FLOAT: {
-				return javaTypeDescriptor.wrap( resultSet.getFloat( position ), null );
-			}
-			case Types.INTEGER: {
-				return javaTypeDescriptor.wrap( resultSet.getInt( position ), null );
-			}
-			case Types.LONGNVARCHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
-			case Types.LONGVARCHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
-			case Types.LONGVARBINARY: {
-				return javaTypeDescriptor.wrap( resultSet.getBytes( position ), null );
-			}
-			case Types.NCHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
-			case Types.NUMERIC: {
-				return javaTypeDescriptor.wrap( resultSet.getBigDecimal( position ), null );
-			}
-			case Types.NVARCHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
-			case Types.TIME: {
-				return javaTypeDescriptor.wrap( resultSet.getTime( position ), null );
-			}
-			case Types.TIMESTAMP: {
-				return javaTypeDescriptor.wrap( resultSet.getTimestamp( position ), null );
-			}
-			case Types.VARCHAR: {
-				return javaTypeDescriptor.wrap( resultSet.getString( position ), null );
-			}
+		else {
+			return jdbcValues[startPosition - 1];
 		}
-
-		throw new UnsupportedOperationException( "JDBC type [" + jdbcType + " not supported" );
 	}
 }
@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.results.internal;
+
+import java.sql.SQLException;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
+import org.hibernate.sql.exec.results.spi.ResultSetProcessingOptions;
+import org.hibernate.sql.exec.results.spi.ReturnReader;
+import org.hibernate.sql.exec.results.spi.RowProcessingState;
+import org.hibernate.type.Type;
+
+/**
+ * ReturnReader for a shallow entity selection : only the entity identifier is
+ * selected and read.  The identifier is the assembled value; resolving it to the
+ * entity instance is left to the caller (see Query#iterate).
+ *
+ * @author agent
+ */
+public class ReturnReaderShallowEntityImpl implements ReturnReader {
+	private final ImprovedEntityPersister improvedEntityPersister;
+	private final ReturnReaderScalarImpl identifierReader;
+
+	public ReturnReaderShallowEntityImpl(
+			int startPosition,
+			ImprovedEntityPersister improvedEntityPersister,
+			SessionFactoryImplementor sessionFactory) {
+		this.improvedEntityPersister = improvedEntityPersister;
+		this.identifierReader = new ReturnReaderScalarImpl(
+				startPosition,
+				improvedEntityPersister.getIdentifierDescriptor().getIdType(),
+				sessionFactory
+		);
+	}
+
+	public EntityPersister getEntityPersister() {
+		return improvedEntityPersister.getEntityPersister();
+	}
+
+	public Type getEntityType() {
+		return improvedEntityPersister.getOrmType();
+	}
+
+	@Override
+	public Class getReturnedJavaType() {
+		return improvedEntityPersister.getOrmType().getReturnedClass();
+	}
+
+	@Override
+	public int getNumberOfColumnsRead(SessionFactoryImplementor sessionFactory) {
+		return identifierReader.getNumberOfColumnsRead( sessionFactory );
+	}
+
+	@Override
+	public void readBasicValues(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		identifierReader.readBasicValues( processingState, options );
+	}
+
+	@Override
+	public void resolveBasicValues(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		identifierReader.resolveBasicValues( processingState, options );
+	}
+
+	@Override
+	public Object assemble(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		return identifierReader.assemble( processingState, options );
+	}
+}
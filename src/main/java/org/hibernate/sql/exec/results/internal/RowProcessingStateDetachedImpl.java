@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.results.internal;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.loader.plan.spi.EntityFetch;
+import org.hibernate.loader.plan.spi.EntityReference;
+import org.hibernate.loader.plan.spi.Fetch;
+import org.hibernate.sql.exec.results.spi.EntityReferenceProcessingState;
+import org.hibernate.sql.exec.results.spi.ResultSetProcessingState;
+import org.hibernate.sql.exec.results.spi.RowProcessingState;
+
+/**
+ * RowProcessingState for a row whose JDBC values are read ahead, into the given array,
+ * and assembled later detached from the ResultSet position.  Used to assemble batched
+ * rows on threads other than the one reading the ResultSet.
+ *
+ * @author agent
+ */
+public class RowProcessingStateDetachedImpl implements RowProcessingState {
+	private final ResultSetProcessingState resultSetProcessingState;
+	private final Object[] jdbcValues;
+
+	public RowProcessingStateDetachedImpl(ResultSetProcessingState resultSetProcessingState, Object[] jdbcValues) {
+		this.resultSetProcessingState = resultSetProcessingState;
+		this.jdbcValues = jdbcValues;
+	}
+
+	@Override
+	public ResultSetProcessingState getResultSetProcessingState() {
+		return resultSetProcessingState;
+	}
+
+	@Override
+	public Object[] getJdbcValues() {
+		return jdbcValues;
+	}
+
+	@Override
+	public void registerNonExists(EntityFetch fetch) {
+	}
+
+	@Override
+	public void registerHydratedEntity(EntityReference entityReference, EntityKey entityKey, Object entityInstance) {
+	}
+
+	@Override
+	public EntityReferenceProcessingState getProcessingState(EntityReference entityReference) {
+		return null;
+	}
+
+	@Override
+	public EntityReferenceProcessingState getOwnerProcessingState(Fetch fetch) {
+		return null;
+	}
+
+	@Override
+	public void finishRowProcessing() {
+	}
+}
@@ -36,6 +36,12 @@ public class RowProcessingStateStandardImpl implements RowProcessingState {
 		return resultSetProcessingState;
 	}
 
+	@Override
+	public Object[] getJdbcValues() {
+		// the row is assembled straight from the ResultSet
+		return null;
+	}
+
 	@Override
 	public void registerNonExists(EntityFetch fetch) {
 	}
@@ -24,10 +24,35 @@ import org.hibernate.sql.exec.spi.RowTransformer;
 public class RowReaderStandardImpl<T> implements RowReader<T> {
 	private final ReturnReader[] returnReaders;
 	private final RowTransformer<T> rowTransformer;
+	private final boolean detachedAssemblySupported;
+
+	// the row re-used by #readRow when row recycling is enabled; null otherwise
+	private final Object[] recycledRow;
 
 	public RowReaderStandardImpl(List<Return> returns, RowTransformer<T> rowTransformer) {
+		this( returns, rowTransformer, false );
+	}
+
+	/**
+	 * @param recycleRows Should {@link #readRow} re-use a single row array rather than
+	 * allocating one per row?  Only valid if each row is consumed before the next is read.
+	 */
+	public RowReaderStandardImpl(List<Return> returns, RowTransformer<T> rowTransformer, boolean recycleRows) {
 		this.returnReaders = extractReturnReaders( returns );
 		this.rowTransformer = rowTransformer;
+		this.recycledRow = recycleRows ? new Object[ returnReaders.length ] : null;
+		this.detachedAssemblySupported = !recycleRows
+				&& rowTransformer.isSessionIndependent()
+				&& areSessionIndependent( returnReaders );
+	}
+
+	private static boolean areSessionIndependent(ReturnReader[] returnReaders) {
+		for ( ReturnReader returnReader : returnReaders ) {
+			if ( !returnReader.isSessionIndependent() ) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private static ReturnReader[] extractReturnReaders(List<Return> returns) {
@@ -43,12 +68,18 @@ public class RowReaderStandardImpl<T> implements RowReader<T> {
 
 	@Override
 	public T readRow(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
-		// NOTE : for now we assume very simple reads (basic values)
+		readJdbcValues( processingState, options );
+		return assembleRow(
+				processingState,
+				options,
+				recycledRow == null ? new Object[ returnReaders.length ] : recycledRow
+		);
+	}
 
-		final int returnCount = returnReaders.length;
-		final Object[] row = new Object[returnCount];
+	@Override
+	public void readJdbcValues(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		// NOTE : for now we assume very simple reads (basic values)
 
-		int position = 1;
 		// first phase of reading
 		for ( ReturnReader returnReader : returnReaders ) {
 			returnReader.readBasicValues( processingState, options );
@@ -56,6 +87,27 @@ public class RowReaderStandardImpl<T> implements RowReader<T> {
 		for ( ReturnReader returnReader : returnReaders ) {
 			returnReader.resolveBasicValues( processingState, options );
 		}
+	}
+
+	@Override
+	public boolean isDetachedAssemblySupported() {
+		return detachedAssemblySupported;
+	}
+
+	@Override
+	public boolean isRowRecycled() {
+		return recycledRow != null && rowTransformer.isRowRetained();
+	}
+
+	@Override
+	public T assembleRow(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException {
+		// NOTE : never recycled, as rows assembled here may be assembled concurrently
+		return assembleRow( processingState, options, new Object[ returnReaders.length ] );
+	}
+
+	private T assembleRow(RowProcessingState processingState, ResultSetProcessingOptions options, Object[] row)
+			throws SQLException {
+		final int returnCount = returnReaders.length;
 		for ( int i = 0; i < returnCount; i++ ) {
 			row[i] = returnReaders[i].assemble( processingState, options );
 		}
@@ -29,4 +29,13 @@ public interface ReturnReader<T> {
 	Class<T> getReturnedJavaType();
 
 	int getNumberOfColumnsRead(SessionFactoryImplementor sessionFactory);
+
+	/**
+	 * Does {@link #assemble} work solely off the JDBC values, never accessing the Session
+	 * (persistence context, etc)?  Only such returns may be assembled on threads other
+	 * than the one owning the Session.
+	 */
+	default boolean isSessionIndependent() {
+		return false;
+	}
 }
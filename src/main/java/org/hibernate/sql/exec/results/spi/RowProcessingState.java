@@ -19,6 +19,16 @@ import org.hibernate.loader.plan.spi.Fetch;
 public interface RowProcessingState {
 	ResultSetProcessingState getResultSetProcessingState();
 
+	/**
+	 * The JDBC values of the row being processed, indexed by (zero-based) ResultSet
+	 * position, when the row is read ahead of being assembled (see
+	 * {@link RowReader#readJdbcValues}).  Filled by {@link ReturnReader#readBasicValues},
+	 * {@link ReturnReader#assemble} then works from these values rather than the ResultSet.
+	 * <p/>
+	 * {@code null} when the row is assembled straight from the ResultSet.
+	 */
+	Object[] getJdbcValues();
+
 	void registerNonExists(EntityFetch fetch);
 	void registerHydratedEntity(EntityReference entityReference, EntityKey entityKey, Object entityInstance);
 
@@ -17,7 +17,35 @@ import org.hibernate.loader.spi.AfterLoadAction;
  * @author Steve Ebersole
  */
 public interface RowReader<R> {
+	/**
+	 * Read the current row; the same as {@link #readJdbcValues} followed by {@link #assembleRow}
+	 */
 	R readRow(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException;
 
+	/**
+	 * First phase of reading a row : read the JDBC values of the current row into
+	 * {@link RowProcessingState#getJdbcValues()}, if the state has any.  Must be called
+	 * by the thread reading the ResultSet.
+	 */
+	void readJdbcValues(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException;
+
+	/**
+	 * Second phase of reading a row : assemble and transform the row.  Does not access
+	 * the ResultSet if the JDBC values were previously read into the RowProcessingState.
+	 */
+	R assembleRow(RowProcessingState processingState, ResultSetProcessingOptions options) throws SQLException;
+
+	/**
+	 * Can {@link #assembleRow} be called concurrently, on threads other than the one owning
+	 * the Session?  Only if neither the returns nor the RowTransformer access the Session.
+	 */
+	boolean isDetachedAssemblySupported();
+
+	/**
+	 * Is each row returned by {@link #readRow} built over a single, re-used row array,
+	 * and so only valid until the next row is read?
+	 */
+	boolean isRowRecycled();
+
 	void finishUp(ResultSetProcessingState context, List<AfterLoadAction> afterLoadActionList);
 }
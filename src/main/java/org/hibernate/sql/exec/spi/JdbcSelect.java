@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Incubating;
+import org.hibernate.NullPrecedence;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.Helper;
+import org.hibernate.sql.convert.spi.ParameterSpec;
+import org.hibernate.sql.convert.spi.Return;
+import org.hibernate.sql.spi.ParameterBinder;
+import org.hibernate.type.Type;
+
+/**
+ * The rendered form of a SQL AST SELECT : the SQL string, the ParameterBinders
+ * (in JDBC parameter order) and the Returns.  Immutable, and so can be safely
+ * cached (by a SelectQueryPlan e.g.) and shared across executions and threads.
+ * <p/>
+ * The rendered SQL depends on the Types bound to the query parameters (a
+ * parameter bound with a composite Type renders multiple JDBC parameters) and on
+ * the (padded) number of values of multi-valued bindings, so we keep those used
+ * during rendering to be able to verify that a JdbcSelect is still valid for a
+ * given set of bindings; see {@link #isCompatibleWith}
+ *
+ * @author agent
+ */
+@Incubating
+public class JdbcSelect {
+	private final String sql;
+	private final List<ParameterBinder> parameterBinders;
+	private final List<Return> returns;
+	private final Map<ParameterSpec,Type> renderedParameterTypes;
+	private final Map<ParameterSpec,Integer> renderedParameterValueCounts;
+	private final List<SortKey> sortKeys;
+
+	public JdbcSelect(
+			String sql,
+			List<ParameterBinder> parameterBinders,
+			List<Return> returns,
+			Map<ParameterSpec,Type> renderedParameterTypes,
+			Map<ParameterSpec,Integer> renderedParameterValueCounts) {
+		this( sql, parameterBinders, returns, renderedParameterTypes, renderedParameterValueCounts, Collections.emptyList() );
+	}
+
+	public JdbcSelect(
+			String sql,
+			List<ParameterBinder> parameterBinders,
+			List<Return> returns,
+			Map<ParameterSpec,Type> renderedParameterTypes,
+			Map<ParameterSpec,Integer> renderedParameterValueCounts,
+			List<SortKey> sortKeys) {
+		this.sql = sql;
+		this.parameterBinders = Collections.unmodifiableList( new ArrayList<>( parameterBinders ) );
+		this.returns = Collections.unmodifiableList( new ArrayList<>( returns ) );
+		this.renderedParameterTypes = new IdentityHashMap<>( renderedParameterTypes );
+		this.renderedParameterValueCounts = new IdentityHashMap<>( renderedParameterValueCounts );
+		this.sortKeys = Collections.unmodifiableList( new ArrayList<>( sortKeys ) );
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public List<ParameterBinder> getParameterBinders() {
+		return parameterBinders;
+	}
+
+	public List<Return> getReturns() {
+		return returns;
+	}
+
+	/**
+	 * The sort keys selected (following the columns of the Returns) when the SQL AST was
+	 * rendered with sort keys, or an empty List.  Allows merging the (ordered) results
+	 * of multiple queries.
+	 */
+	public List<SortKey> getSortKeys() {
+		return sortKeys;
+	}
+
+	/**
+	 * Would rendering the SQL AST against the given bindings produce this same
+	 * JdbcSelect?  Only the query parameters affect that (at least for now), so
+	 * we check that each parameter resolves to the same Type and (padded) number
+	 * of values it was rendered with.
+	 *
+	 * @param parameterBindings The bindings for the execution about to happen
+	 * @param dialect The Dialect, which may limit IN-list padding
+	 *
+	 * @return {@code true} if this JdbcSelect can be used for the given bindings
+	 */
+	public boolean isCompatibleWith(QueryParameterBindings parameterBindings, Dialect dialect) {
+		for ( Map.Entry<ParameterSpec,Type> entry : renderedParameterTypes.entrySet() ) {
+			if ( Helper.resolveType( entry.getKey(), parameterBindings ) != entry.getValue() ) {
+				return false;
+			}
+		}
+		for ( Map.Entry<ParameterSpec,Integer> entry : renderedParameterValueCounts.entrySet() ) {
+			final int valueCount = Helper.determineRenderedValueCount(
+					Helper.resolveBinding( entry.getKey(), parameterBindings ),
+					dialect
+			);
+			if ( valueCount != entry.getValue() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A value of the ORDER BY selected as a column of its own
+	 */
+	public static class SortKey {
+		private final int position;
+		private final boolean descending;
+		private final NullPrecedence nullPrecedence;
+
+		public SortKey(int position, boolean descending, NullPrecedence nullPrecedence) {
+			this.position = position;
+			this.descending = descending;
+			this.nullPrecedence = nullPrecedence;
+		}
+
+		/**
+		 * The (1-based) ResultSet position of the sort key column
+		 */
+		public int getPosition() {
+			return position;
+		}
+
+		public boolean isDescending() {
+			return descending;
+		}
+
+		/**
+		 * The null precedence rendered in the ORDER BY; {@link NullPrecedence#NONE} if
+		 * the database's default applies
+		 */
+		public NullPrecedence getNullPrecedence() {
+			return nullPrecedence;
+		}
+	}
+}
@@ -33,9 +33,11 @@ public interface PreparedStatementExecutor<R,T> {
 	 *
 	 * @param ps The PreparedStatement that the ResultSet was obtained from (mainly
 	 * used to interact with the ResourceRegistry)
+	 * @param queryOptions
+	 * @param rowsToSkip The number of leading rows to skip; non-zero when the first-row
+	 * of the {@link org.hibernate.query.proposed.Limit} could not be applied in the SQL
 	 * @param returns
 	 * @param rowTransformer
-	 * @param queryOptions
 	 * @param session
 	 *
 	 * @return
@@ -45,6 +47,7 @@ public interface PreparedStatementExecutor<R,T> {
 	R execute(
 			PreparedStatement ps,
 			QueryOptions queryOptions,
+			int rowsToSkip,
 			List<Return> returns,
 			RowTransformer<T> rowTransformer,
 			SharedSessionContractImplementor session) throws SQLException;
@@ -26,4 +26,20 @@ import org.hibernate.Incubating;
 @Incubating
 public interface RowTransformer<T> {
 	T transformRow(Object[] row);
+
+	/**
+	 * Is transforming a row free of Session access and of mutable state, so that rows
+	 * may be transformed concurrently on threads other than the one owning the Session?
+	 */
+	default boolean isSessionIndependent() {
+		return false;
+	}
+
+	/**
+	 * Does the transformed row keep a reference to the passed row array (or is it that
+	 * array)?  If so, it is not valid beyond the next row when rows are recycled.
+	 */
+	default boolean isRowRetained() {
+		return true;
+	}
 }
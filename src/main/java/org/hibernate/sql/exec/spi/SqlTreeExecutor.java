@@ -62,6 +62,20 @@ public interface SqlTreeExecutor {
 			SharedSessionContractImplementor persistenceContext,
 			ExecutionContext executionContext);
 
+	/**
+	 * Form of {@link #executeSelect(SelectQuery, PreparedStatementCreator, PreparedStatementExecutor, QueryOptions, QueryParameterBindings, RowTransformer, Callback, SharedSessionContractImplementor, ExecutionContext)}
+	 * for cases where the SQL AST has already been rendered (and likely cached)
+	 */
+	<R,T> R executeSelect(
+			JdbcSelect jdbcSelect,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor<R, T> preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext);
+
 	Object[] executeInsert(
 			Object sqlTree,
 			PreparedStatementCreator statementCreator,
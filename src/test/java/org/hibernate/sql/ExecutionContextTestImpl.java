@@ -14,7 +14,7 @@ import org.hibernate.engine.spi.ExceptionConverter;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.SessionImpl;
 import org.hibernate.query.proposed.spi.ExecutionContext;
-import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.QueryEngine;
 import org.hibernate.type.Type;
 
 /**
@@ -22,9 +22,11 @@ import org.hibernate.type.Type;
  */
 public class ExecutionContextTestImpl implements ExecutionContext {
 	private final SharedSessionContractImplementor session;
+	private final QueryEngine queryEngine;
 
-	public ExecutionContextTestImpl(SharedSessionContractImplementor session) {
+	public ExecutionContextTestImpl(SharedSessionContractImplementor session, QueryEngine queryEngine) {
 		this.session = session;
+		this.queryEngine = queryEngine;
 	}
 
 	@Override
@@ -90,7 +92,7 @@ public class ExecutionContextTestImpl implements ExecutionContext {
 	}
 
 	@Override
-	public QueryInterpretations getQueryInterpretations() {
-		return QueryInterpretationsTestImpl.INSTANCE;
+	public QueryEngine getQueryEngine() {
+		return queryEngine;
 	}
 }
@@ -9,6 +9,7 @@ package org.hibernate.sql;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.spi.NativeQueryImplementor;
+import org.hibernate.query.proposed.spi.QueryEngine;
 import org.hibernate.query.proposed.spi.QueryImplementor;
 import org.hibernate.query.proposed.spi.QueryProducerImplementor;
 
@@ -17,9 +18,15 @@ import org.hibernate.query.proposed.spi.QueryProducerImplementor;
  */
 public class QueryProducerTestImpl implements QueryProducerImplementor {
 	private final SharedSessionContractImplementor session;
+	private final QueryEngine queryEngine;
 
 	public QueryProducerTestImpl(SharedSessionContractImplementor session) {
+		this( session, null );
+	}
+
+	public QueryProducerTestImpl(SharedSessionContractImplementor session, QueryEngine queryEngine) {
 		this.session = session;
+		this.queryEngine = queryEngine;
 	}
 
 	@Override
@@ -54,17 +61,26 @@ public class QueryProducerTestImpl implements QueryProducerImplementor {
 
 	@Override
 	public QueryImplementor getNamedQuery(String queryName) {
-		throw new UnsupportedOperationException();
+		return createNamedQuery( queryName, null );
 	}
 
 	@Override
 	public QueryImplementor createNamedQuery(String name) {
-		throw new UnsupportedOperationException();
+		return createNamedQuery( name, null );
 	}
 
 	@Override
 	public <R> QueryImplementor<R> createNamedQuery(String name, Class<R> resultClass) {
-		throw new UnsupportedOperationException();
+		if ( queryEngine == null ) {
+			throw new UnsupportedOperationException();
+		}
+		return queryEngine.createNamedQuery(
+				name,
+				resultClass,
+				session,
+				this,
+				new ExecutionContextTestImpl( session, queryEngine )
+		);
 	}
 
 	@Override
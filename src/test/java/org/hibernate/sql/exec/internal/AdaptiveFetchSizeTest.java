@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author agent
+ */
+public class AdaptiveFetchSizeTest {
+	@Test
+	public void testNoRecommendationUntilRecorded() {
+		final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize( true, 10, 1000 );
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), nullValue() );
+
+		adaptiveFetchSize.recordRowCount( 50, null );
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 51 ) );
+		// no more rows than will be read
+		assertThat( adaptiveFetchSize.determineFetchSize( 20 ), is( 21 ) );
+	}
+
+	@Test
+	public void testBounds() {
+		final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize( true, 10, 1000 );
+
+		adaptiveFetchSize.recordRowCount( 0, null );
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 10 ) );
+
+		for ( int i = 0; i < AdaptiveFetchSize.SAMPLE_COUNT; i++ ) {
+			adaptiveFetchSize.recordRowCount( 5000, null );
+		}
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 1000 ) );
+	}
+
+	@Test
+	public void testLimitedExecutionsAreNotRecorded() {
+		final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize( true, 10, 1000 );
+		adaptiveFetchSize.recordRowCount( 500, null );
+
+		for ( int i = 0; i < AdaptiveFetchSize.SAMPLE_COUNT; i++ ) {
+			adaptiveFetchSize.recordRowCount( 10, 10 );
+		}
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 501 ) );
+	}
+
+	@Test
+	public void testPercentileOfRecentRowCounts() {
+		final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize( true, 10, 1000 );
+
+		// 90% of the executions read 100 rows, 10% read 900
+		for ( int i = 0; i < AdaptiveFetchSize.SAMPLE_COUNT * 4; i++ ) {
+			adaptiveFetchSize.recordRowCount( i % 10 == 0 ? 900 : 100, null );
+		}
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 101 ) );
+
+		// the older row counts are replaced (the percentile is re-computed periodically)
+		for ( int i = 0; i < AdaptiveFetchSize.SAMPLE_COUNT; i++ ) {
+			adaptiveFetchSize.recordRowCount( 300, null );
+		}
+		assertThat( adaptiveFetchSize.determineFetchSize( null ), is( 301 ) );
+	}
+
+	@Test
+	public void testDisabled() {
+		AdaptiveFetchSize.DISABLED.recordRowCount( 50, null );
+		assertThat( AdaptiveFetchSize.DISABLED.determineFetchSize( null ), nullValue() );
+	}
+}
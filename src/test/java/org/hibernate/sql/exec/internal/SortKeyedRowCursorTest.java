@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.hibernate.NullPrecedence;
+import org.hibernate.QueryException;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class SortKeyedRowCursorTest {
+	@Test
+	public void testMixedNumericTypes() {
+		assertThat( SortKeyedRowCursor.compareValues( 1, 2L ), is( -1 ) );
+		assertThat( SortKeyedRowCursor.compareValues( 2L, 2 ), is( 0 ) );
+		assertThat( SortKeyedRowCursor.compareValues( new BigDecimal( "2.50" ), 2.5d ), is( 0 ) );
+		assertThat( SortKeyedRowCursor.compareValues( BigInteger.TEN, new BigDecimal( "9.99" ) ), is( 1 ) );
+		assertThat( SortKeyedRowCursor.compareValues( (short) 3, 2.5f ), is( 1 ) );
+		// beyond the precision of a double
+		assertThat( SortKeyedRowCursor.compareValues( Long.MAX_VALUE, new BigDecimal( Long.MAX_VALUE ).subtract( BigDecimal.ONE ) ), is( 1 ) );
+	}
+
+	@Test
+	public void testNonFiniteValues() {
+		assertTrue( SortKeyedRowCursor.compareValues( Double.NaN, 1L ) > 0 );
+		assertTrue( SortKeyedRowCursor.compareValues( new BigDecimal( "1E+400" ), Double.POSITIVE_INFINITY ) < 0 );
+		assertTrue( SortKeyedRowCursor.compareValues( Float.NEGATIVE_INFINITY, Integer.MIN_VALUE ) < 0 );
+		assertThat( SortKeyedRowCursor.compareValues( Double.NaN, Float.NaN ), is( 0 ) );
+	}
+
+	@Test
+	public void testMixedTemporalTypes() {
+		final Timestamp timestamp = new Timestamp( 1000L );
+		assertThat( SortKeyedRowCursor.compareValues( new java.sql.Date( 0L ), timestamp ), is( -1 ) );
+		assertThat( SortKeyedRowCursor.compareValues( timestamp, new Date( 0L ) ), is( 1 ) );
+	}
+
+	@Test
+	public void testIncomparableValues() {
+		try {
+			SortKeyedRowCursor.compareValues( new byte[] { 1 }, new byte[] { 2 } );
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+		}
+
+		try {
+			SortKeyedRowCursor.compareValues( "a", 1 );
+			fail( "Expecting QueryException" );
+		}
+		catch (QueryException expected) {
+		}
+	}
+
+	@Test
+	public void testRenderedNullPrecedence() throws Exception {
+		final boolean[] nullsFirst = SortKeyedRowCursor.resolveNullsFirst(
+				Arrays.asList(
+						new JdbcSelect.SortKey( 1, false, NullPrecedence.FIRST ),
+						new JdbcSelect.SortKey( 2, true, NullPrecedence.LAST )
+				),
+				databaseMetaData( "nullsAreSortedHigh" )
+		);
+		assertArrayEquals( new boolean[] { true, false }, nullsFirst );
+	}
+
+	@Test
+	public void testDefaultNullPrecedence() throws Exception {
+		final JdbcSelect.SortKey ascending = new JdbcSelect.SortKey( 1, false, NullPrecedence.NONE );
+		final JdbcSelect.SortKey descending = new JdbcSelect.SortKey( 2, true, NullPrecedence.NONE );
+
+		// e.g. PostgreSQL and Oracle
+		assertArrayEquals(
+				new boolean[] { false, true },
+				SortKeyedRowCursor.resolveNullsFirst( Arrays.asList( ascending, descending ), databaseMetaData( "nullsAreSortedHigh" ) )
+		);
+		// e.g. MySQL, SQL Server and H2
+		assertArrayEquals(
+				new boolean[] { true, false },
+				SortKeyedRowCursor.resolveNullsFirst( Arrays.asList( ascending, descending ), databaseMetaData( "nullsAreSortedLow" ) )
+		);
+		assertArrayEquals(
+				new boolean[] { true, true },
+				SortKeyedRowCursor.resolveNullsFirst( Arrays.asList( ascending, descending ), databaseMetaData( "nullsAreSortedAtStart" ) )
+		);
+		assertArrayEquals(
+				new boolean[] { false, false },
+				SortKeyedRowCursor.resolveNullsFirst( Arrays.asList( ascending, descending ), databaseMetaData( "nullsAreSortedAtEnd" ) )
+		);
+	}
+
+	/**
+	 * DatabaseMetaData answering {@code true} only for the given method
+	 */
+	private static DatabaseMetaData databaseMetaData(String nullSorting) {
+		return (DatabaseMetaData) Proxy.newProxyInstance(
+				SortKeyedRowCursorTest.class.getClassLoader(),
+				new Class[] { DatabaseMetaData.class },
+				(proxy, method, args) -> nullSorting.equals( method.getName() )
+		);
+	}
+}
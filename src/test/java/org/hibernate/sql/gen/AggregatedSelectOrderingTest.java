@@ -0,0 +1,230 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.common.internal.PersisterFactoryImpl;
+import org.hibernate.persister.internal.PersisterFactoryInitiator;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.query.proposed.spi.QueryEngine;
+import org.hibernate.sql.ConsumerContextImpl;
+import org.hibernate.sql.ExecutionContextTestImpl;
+import org.hibernate.sql.QueryProducerTestImpl;
+import org.hibernate.sqm.SemanticQueryInterpreter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.anyOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Ordering of the results of (implicitly polymorphic) queries split into multiple
+ * concrete queries
+ *
+ * @author agent
+ */
+public class AggregatedSelectOrderingTest {
+	private SessionFactoryImplementor sessionFactory;
+	private ConsumerContextImpl consumerContext;
+	private QueryEngine queryEngine;
+
+	@Before
+	public void before() throws Exception {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
+				.build();
+
+		try {
+			MetadataSources metadataSources = new MetadataSources( ssr );
+			metadataSources.addAnnotatedClass( Cat.class );
+			metadataSources.addAnnotatedClass( Dog.class );
+
+			this.sessionFactory = (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (Exception e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+
+		insertRows();
+
+		consumerContext = new ConsumerContextImpl( sessionFactory );
+		queryEngine = new QueryEngine( sessionFactory );
+	}
+
+	private void insertRows() {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		session.persist( new Cat( 1, "apple", 3 ) );
+		session.persist( new Cat( 2, "Banana", null ) );
+		session.persist( new Cat( 3, null, 1 ) );
+		session.persist( new Cat( 4, "cherry", 5 ) );
+		session.persist( new Dog( 1, "Avocado", 2 ) );
+		session.persist( new Dog( 2, "banana", 4 ) );
+		session.persist( new Dog( 3, null, null ) );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@After
+	public void after() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	@Test
+	public void testNumericOrderIsMerged() {
+		doInSession(
+				session -> {
+					final List<Integer> ranks = generateQueryImpl(
+							session,
+							"select n.rank from " + Named.class.getName() + " n order by n.rank",
+							Integer.class
+					).list();
+
+					// sort keys are rendered with nulls last
+					assertThat( ranks, is( Arrays.asList( 1, 2, 3, 4, 5, null, null ) ) );
+
+					final List<Integer> descendingRanks = generateQueryImpl(
+							session,
+							"select n.rank from " + Named.class.getName() + " n order by n.rank desc",
+							Integer.class
+					).list();
+					assertThat( descendingRanks, is( Arrays.asList( 5, 4, 3, 2, 1, null, null ) ) );
+				}
+		);
+	}
+
+	@Test
+	public void testNumericOrderIsMergedWithinWindow() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Integer> query = generateQueryImpl(
+							session,
+							"select n.rank from " + Named.class.getName() + " n order by n.rank",
+							Integer.class
+					);
+					query.setFirstResult( 1 );
+					query.setMaxResults( 3 );
+
+					assertThat( query.list(), is( Arrays.asList( 2, 3, 4 ) ) );
+				}
+		);
+	}
+
+	@Test
+	public void testCharacterOrderFollowsDatabase() {
+		doInSession(
+				session -> {
+					final List<String> names = generateQueryImpl(
+							session,
+							"select n.name from " + Named.class.getName() + " n order by n.name",
+							String.class
+					).list();
+
+					// character values are not merged on (their order being the database's);
+					// the ordered results of the concrete queries are concatenated instead
+					final List<String> catNames = generateQueryImpl(
+							session,
+							"select c.name from Cat c order by c.name",
+							String.class
+					).list();
+					final List<String> dogNames = generateQueryImpl(
+							session,
+							"select d.name from Dog d order by d.name",
+							String.class
+					).list();
+
+					assertThat( names, anyOf( is( concat( catNames, dogNames ) ), is( concat( dogNames, catNames ) ) ) );
+				}
+		);
+	}
+
+	private static <T> List<T> concat(List<T> first, List<T> second) {
+		final List<T> result = new ArrayList<>( first );
+		result.addAll( second );
+		return result;
+	}
+
+	private void doInSession(Consumer<SharedSessionContractImplementor> work) {
+		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) sessionFactory.openSession();
+
+		try {
+			work.accept( session );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> QuerySqmImpl<T> generateQueryImpl(SharedSessionContractImplementor session, String qryStr, Class<T> resultType) {
+		return new QuerySqmImpl(
+				qryStr,
+				SemanticQueryInterpreter.interpret( qryStr, consumerContext ),
+				resultType,
+				session,
+				new QueryProducerTestImpl( session ),
+				new ExecutionContextTestImpl( session, queryEngine )
+		);
+	}
+
+	public interface Named {
+	}
+
+	@Entity(name="Cat")
+	public static class Cat implements Named {
+		@Id
+		Integer id;
+		String name;
+		Integer rank;
+
+		public Cat() {
+		}
+
+		public Cat(Integer id, String name, Integer rank) {
+			this.id = id;
+			this.name = name;
+			this.rank = rank;
+		}
+	}
+
+	@Entity(name="Dog")
+	public static class Dog implements Named {
+		@Id
+		Integer id;
+		String name;
+		Integer rank;
+
+		public Dog() {
+		}
+
+		public Dog(Integer id, String name, Integer rank) {
+			this.id = id;
+			this.name = name;
+			this.rank = rank;
+		}
+	}
+}
@@ -6,6 +6,9 @@
  */
 package org.hibernate.sql.gen;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
@@ -14,6 +17,13 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.persister.common.internal.PersisterFactoryImpl;
 import org.hibernate.persister.internal.PersisterFactoryInitiator;
 import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.QueryParameter;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.internal.QueryParameterNamedImpl;
+import org.hibernate.query.proposed.internal.QueryParameterPositionalImpl;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.QueryParameterBindingTypeResolverImpl;
 import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.ConsumerContextImpl;
 import org.hibernate.sql.convert.spi.Callback;
@@ -36,10 +46,11 @@ public class BaseUnitTest {
 
 	@Before
 	public void before() throws Exception {
-		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+		final StandardServiceRegistryBuilder ssrb = new StandardServiceRegistryBuilder()
 				.applySetting( AvailableSettings.JPAQL_STRICT_COMPLIANCE, strictJpaCompliance() )
-				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
-				.build();
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE );
+		applySettings( ssrb );
+		final StandardServiceRegistry ssr = ssrb.build();
 
 		try {
 			MetadataSources metadataSources = new MetadataSources( ssr );
@@ -66,6 +77,9 @@ public class BaseUnitTest {
 		return false;
 	}
 
+	protected void applySettings(StandardServiceRegistryBuilder serviceRegistryBuilder) {
+	}
+
 	protected void applyMetadataSources(MetadataSources metadataSources) {
 	}
 
@@ -82,14 +96,51 @@ public class BaseUnitTest {
 	}
 
 	protected SelectQuery interpretSelectQuery(String query) {
-		final SqmSelectStatement statement = (SqmSelectStatement) interpret( query );
+		return interpretSelectQuery( (SqmSelectStatement) interpret( query ) );
+	}
 
+	protected SelectQuery interpretSelectQuery(SqmSelectStatement statement) {
 		final SelectStatementInterpreter interpreter = new SelectStatementInterpreter( queryOptions(), callBack() );
 		interpreter.interpret( statement );
 
 		return interpreter.getSelectQuery();
 	}
 
+	protected QueryParameterBindings buildQueryParameterBindings(SqmStatement statement) {
+		return QueryParameterBindingsImpl.from(
+				buildParameterMetadata( statement ),
+				new QueryParameterBindingTypeResolverImpl( getSessionFactory() )
+		);
+	}
+
+	private static ParameterMetadataImpl buildParameterMetadata(SqmStatement sqm) {
+		Map<String, QueryParameter> namedQueryParameters = null;
+		Map<Integer, QueryParameter> positionalQueryParameters = null;
+
+		for ( org.hibernate.sqm.query.Parameter parameter : sqm.getQueryParameters() ) {
+			if ( parameter.getName() != null ) {
+				if ( namedQueryParameters == null ) {
+					namedQueryParameters = new HashMap<>();
+				}
+				namedQueryParameters.put(
+						parameter.getName(),
+						QueryParameterNamedImpl.fromSqm( parameter )
+				);
+			}
+			else if ( parameter.getPosition() != null ) {
+				if ( positionalQueryParameters == null ) {
+					positionalQueryParameters = new HashMap<>();
+				}
+				positionalQueryParameters.put(
+						parameter.getPosition(),
+						QueryParameterPositionalImpl.fromSqm( parameter )
+				);
+			}
+		}
+
+		return new ParameterMetadataImpl( namedQueryParameters, positionalQueryParameters );
+	}
+
 	protected Callback callBack() {
 		return new Callback() {
 		};
@@ -24,6 +24,7 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.persister.common.internal.PersisterFactoryImpl;
 import org.hibernate.persister.internal.PersisterFactoryInitiator;
 import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.query.proposed.spi.QueryEngine;
 import org.hibernate.sql.ConsumerContextImpl;
 import org.hibernate.sql.ExecutionContextTestImpl;
 import org.hibernate.sql.QueryProducerTestImpl;
@@ -46,6 +47,7 @@ import static org.junit.Assert.assertThat;
 public class FullStackTest {
 	private SessionFactoryImplementor sessionFactory;
 	private ConsumerContextImpl consumerContext;
+	private QueryEngine queryEngine;
 
 	@Before
 	public void before() throws Exception {
@@ -68,6 +70,7 @@ public class FullStackTest {
 		insertRow();
 
 		consumerContext = new ConsumerContextImpl( sessionFactory );
+		queryEngine = new QueryEngine( sessionFactory );
 	}
 
 	private void insertRow() {
@@ -133,7 +136,7 @@ public class FullStackTest {
 				resultType,
 				session,
 				new QueryProducerTestImpl( session ),
-				new ExecutionContextTestImpl( session )
+				new ExecutionContextTestImpl( session, queryEngine )
 		);
 	}
 
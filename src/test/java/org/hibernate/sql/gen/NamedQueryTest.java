@@ -0,0 +1,201 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.common.internal.PersisterFactoryImpl;
+import org.hibernate.persister.internal.PersisterFactoryInitiator;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.internal.sqm.NamedQueryWarmUp;
+import org.hibernate.query.proposed.spi.QueryEngine;
+import org.hibernate.query.proposed.spi.QueryImplementor;
+import org.hibernate.sql.ConsumerContextImpl;
+import org.hibernate.sql.QueryProducerTestImpl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Named queries created through the QueryEngine, which warms them up as it is built
+ *
+ * @author agent
+ */
+public class NamedQueryTest {
+	private SessionFactoryImplementor sessionFactory;
+	private QueryEngine queryEngine;
+
+	@Before
+	public void before() throws Exception {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
+				.applySetting( NamedQueryWarmUp.WARM_UP, NamedQueryWarmUp.WarmUpMode.EAGER )
+				.build();
+
+		final Metadata metadata;
+		try {
+			MetadataSources metadataSources = new MetadataSources( ssr );
+			metadataSources.addAnnotatedClass( Person.class );
+
+			metadata = metadataSources.buildMetadata();
+			this.sessionFactory = (SessionFactoryImplementor) metadata.buildSessionFactory();
+		}
+		catch (Exception e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+
+		insertRows();
+
+		queryEngine = new QueryEngine( sessionFactory, metadata, new ConsumerContextImpl( sessionFactory ) );
+	}
+
+	private void insertRows() {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		session.persist( new Person( 1, "Steve", 20 ) );
+		session.persist( new Person( 2, "Andrea", 30 ) );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@After
+	public void after() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	@Test
+	public void testWarmedUpPlanIsUsed() throws Exception {
+		assertTrue( queryEngine.getNamedQueryWarmUpFailures().get().isEmpty() );
+
+		final QueryInterpretationsImpl interpretations = (QueryInterpretationsImpl) queryEngine.getQueryInterpretations();
+		// untyped and typed (as the single selection) plans for each named query
+		assertThat( interpretations.getSize(), is( 4 ) );
+		final long missCount = interpretations.getMissCount();
+
+		doInSession(
+				session -> {
+					final QueryImplementor query = new QueryProducerTestImpl( session, queryEngine ).createNamedQuery( "Person.byAge" );
+					query.setParameter( "age", 25 );
+					final List results = query.list();
+
+					assertThat( results.size(), is( 1 ) );
+					assertThat( interpretations.getHitCount(), is( 1L ) );
+					assertThat( interpretations.getMissCount(), is( missCount ) );
+				}
+		);
+	}
+
+	@Test
+	public void testWarmedUpPlanIsUsedForTypedQuery() throws Exception {
+		assertTrue( queryEngine.getNamedQueryWarmUpFailures().get().isEmpty() );
+
+		final QueryInterpretationsImpl interpretations = (QueryInterpretationsImpl) queryEngine.getQueryInterpretations();
+		final long missCount = interpretations.getMissCount();
+
+		doInSession(
+				session -> {
+					final QueryImplementor<String> query = new QueryProducerTestImpl( session, queryEngine ).createNamedQuery(
+							"Person.byAge",
+							String.class
+					);
+					query.setParameter( "age", 25 );
+
+					assertThat( query.list(), is( Collections.singletonList( "Andrea" ) ) );
+					assertThat( interpretations.getHitCount(), is( 1L ) );
+					assertThat( interpretations.getMissCount(), is( missCount ) );
+				}
+		);
+	}
+
+	@Test
+	public void testDefinitionOptionsAreApplied() {
+		doInSession(
+				session -> {
+					final QueryImplementor<String> query = new QueryProducerTestImpl( session, queryEngine ).createNamedQuery(
+							"Person.names",
+							String.class
+					);
+
+					assertThat( query.getFetchSize(), is( 50 ) );
+					assertTrue( query.isReadOnly() );
+					assertThat( query.getComment(), is( "Person.names" ) );
+					assertThat( query.list().size(), is( 2 ) );
+				}
+		);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownNamedQuery() {
+		doInSession(
+				session -> new QueryProducerTestImpl( session, queryEngine ).createNamedQuery( "Person.unknown" )
+		);
+	}
+
+	private void doInSession(Consumer<SharedSessionContractImplementor> work) {
+		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) sessionFactory.openSession();
+
+		try {
+			work.accept( session );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Entity(name="Person")
+	@NamedQueries({
+			@NamedQuery(name = "Person.byAge", query = "select p.name from Person p where p.age >= :age"),
+			@NamedQuery(
+					name = "Person.names",
+					query = "select p.name from Person p",
+					hints = {
+							@QueryHint(name = QueryHints.FETCH_SIZE, value = "50"),
+							@QueryHint(name = QueryHints.READ_ONLY, value = "true")
+					}
+			)
+	})
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name, int age) {
+			this.id = id;
+			this.name = name;
+			this.age = age;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.persister.common.internal.DomainMetamodelImpl;
+import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
+import org.hibernate.sql.convert.spi.SqlTreeWalker;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The improved persisters initialized in parallel (see {@link DomainMetamodelImpl#PARALLEL_INITIALIZATION})
+ * over a model of several type hierarchies, one of them JOINED, and collections
+ *
+ * @author agent
+ */
+public class ParallelMetamodelInitializationTest extends BaseUnitTest {
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder serviceRegistryBuilder) {
+		super.applySettings( serviceRegistryBuilder );
+		serviceRegistryBuilder.applySetting( DomainMetamodelImpl.PARALLEL_INITIALIZATION, true );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		super.applyMetadataSources( metadataSources );
+		metadataSources.addAnnotatedClass( Zoo.class );
+		metadataSources.addAnnotatedClass( Keeper.class );
+		metadataSources.addAnnotatedClass( Animal.class );
+		metadataSources.addAnnotatedClass( Cat.class );
+		metadataSources.addAnnotatedClass( Dog.class );
+	}
+
+	@Test
+	public void testEntityPersistersAreInitialized() {
+		for ( String entityName : new String[] { "Zoo", "Keeper", "Animal", "Cat", "Dog" } ) {
+			final Object reference = getConsumerContext().getDomainMetamodel().resolveEntityReference( entityName );
+			assertThat( reference, instanceOf( ImprovedEntityPersister.class ) );
+			assertThat(
+					( (ImprovedEntityPersister) reference ).getEntityPersister().getEntityName(),
+					containsString( entityName )
+			);
+		}
+	}
+
+	@Test
+	public void testJoinedSubclassQuery() {
+		final String sql = render( "select c.name, c.lives from Cat c" );
+
+		// the superclass table holds the name
+		assertThat( sql, containsString( "zoo_animal" ) );
+		assertThat( sql, containsString( "zoo_cat" ) );
+	}
+
+	@Test
+	public void testCollectionJoinQuery() {
+		final String sql = render( "select z.name, a.name from Zoo z join z.animals a" );
+
+		assertThat( sql, containsString( "zoo_animal" ) );
+	}
+
+	@Test
+	public void testManyToOneJoinQuery() {
+		final String sql = render( "select k.name, z.name from Keeper k join k.zoo z" );
+
+		assertThat( sql, containsString( "zoo_keeper" ) );
+		assertThat( sql, containsString( " join zoo " ) );
+	}
+
+	private String render(String hql) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( hql );
+		final SqlTreeWalker sqlTreeWalker = new SqlTreeWalker( getSessionFactory(), buildQueryParameterBindings( statement ) );
+		sqlTreeWalker.visitSelectQuery( interpretSelectQuery( statement ) );
+		return sqlTreeWalker.getSql();
+	}
+
+	@Entity(name="Zoo")
+	@Table(name="zoo")
+	public static class Zoo {
+		@Id
+		Integer id;
+		String name;
+		@OneToMany
+		@JoinColumn(name="zoo_id")
+		Set<Animal> animals;
+	}
+
+	@Entity(name="Keeper")
+	@Table(name="zoo_keeper")
+	public static class Keeper {
+		@Id
+		Integer id;
+		String name;
+		@ManyToOne
+		Zoo zoo;
+	}
+
+	@Entity(name="Animal")
+	@Table(name="zoo_animal")
+	@Inheritance(strategy=InheritanceType.JOINED)
+	public static class Animal {
+		@Id
+		Integer id;
+		String name;
+	}
+
+	@Entity(name="Cat")
+	@Table(name="zoo_cat")
+	public static class Cat extends Animal {
+		int lives;
+	}
+
+	@Entity(name="Dog")
+	@Table(name="zoo_dog")
+	public static class Dog extends Animal {
+		String breed;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionEventListenerManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.hibernate.sql.exec.internal.PreparedStatementCaching;
+import org.hibernate.sql.exec.internal.PreparedStatementCreatorStandardImpl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class PreparedStatementCachingTest {
+	private final List<TestStatement> createdStatements = new ArrayList<>();
+	private final List<SessionEventListener> listeners = new ArrayList<>();
+	private Connection connection;
+	private SharedSessionContractImplementor session;
+
+	@Before
+	public void before() {
+		connection = proxy( Connection.class, (proxy, method, args) -> {
+			if ( "prepareStatement".equals( method.getName() ) ) {
+				final TestStatement statement = new TestStatement( (String) args[0] );
+				createdStatements.add( statement );
+				return statement.proxy;
+			}
+			return defaultValue( method.getReturnType() );
+		} );
+		final LogicalConnectionImplementor logicalConnection = proxy(
+				LogicalConnectionImplementor.class,
+				(proxy, method, args) -> "getPhysicalConnection".equals( method.getName() ) ? connection : null
+		);
+		final JdbcCoordinator jdbcCoordinator = proxy(
+				JdbcCoordinator.class,
+				(proxy, method, args) -> "getLogicalConnection".equals( method.getName() ) ? logicalConnection : null
+		);
+		final SessionEventListenerManager eventListenerManager = proxy(
+				SessionEventListenerManager.class,
+				(proxy, method, args) -> {
+					if ( "addListener".equals( method.getName() ) ) {
+						Collections.addAll( listeners, (SessionEventListener[]) args[0] );
+					}
+					return null;
+				}
+		);
+		session = proxy( SharedSessionContractImplementor.class, (proxy, method, args) -> {
+			switch ( method.getName() ) {
+				case "getJdbcCoordinator": {
+					return jdbcCoordinator;
+				}
+				case "getEventListenerManager": {
+					return eventListenerManager;
+				}
+				default: {
+					return null;
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testStatementIsReused() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching(
+				Collections.singletonMap( PreparedStatementCaching.STATEMENT_CACHE_SIZE, "10" )
+		);
+
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+
+		assertThat( createdStatements.size(), is( 1 ) );
+		assertFalse( createdStatements.get( 0 ).closed );
+		// one listener per Session
+		assertThat( listeners.size(), is( 1 ) );
+	}
+
+	@Test
+	public void testStatementInUseIsNotShared() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching(
+				Collections.singletonMap( PreparedStatementCaching.STATEMENT_CACHE_SIZE, "10" )
+		);
+
+		final PreparedStatement first = caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session );
+		final PreparedStatement second = caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session );
+		second.close();
+		first.close();
+
+		assertThat( createdStatements.size(), is( 2 ) );
+		// the uncached one is really closed
+		assertTrue( createdStatements.get( 1 ).closed );
+		assertFalse( createdStatements.get( 0 ).closed );
+	}
+
+	@Test
+	public void testResultSetReturnsCheckedOutStatement() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching(
+				Collections.singletonMap( PreparedStatementCaching.STATEMENT_CACHE_SIZE, "10" )
+		);
+
+		final PreparedStatement statement = caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session );
+		final ResultSet resultSet = statement.executeQuery();
+		assertSame( statement, resultSet.getStatement() );
+
+		// closing the statement obtained from the ResultSet checks it back in
+		resultSet.getStatement().close();
+		assertTrue( statement.isClosed() );
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+
+		assertThat( createdStatements.size(), is( 1 ) );
+		assertFalse( createdStatements.get( 0 ).closed );
+	}
+
+	@Test
+	public void testConnectionReleaseClosesStatements() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching(
+				Collections.singletonMap( PreparedStatementCaching.STATEMENT_CACHE_SIZE, "10" )
+		);
+
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 2", session ).close();
+
+		listeners.forEach( SessionEventListener::jdbcConnectionReleaseStart );
+
+		assertThat( createdStatements.size(), is( 2 ) );
+		assertTrue( createdStatements.get( 0 ).closed );
+		assertTrue( createdStatements.get( 1 ).closed );
+
+		// statements are prepared anew (and cached again) afterwards
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+		assertThat( createdStatements.size(), is( 3 ) );
+		assertFalse( createdStatements.get( 2 ).closed );
+	}
+
+	@Test
+	public void testFactoryCloseClosesStatements() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching(
+				Collections.singletonMap( PreparedStatementCaching.STATEMENT_CACHE_SIZE, "10" )
+		);
+
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+		caching.close();
+
+		assertTrue( createdStatements.get( 0 ).closed );
+	}
+
+	@Test
+	public void testDisabledByDefault() throws Exception {
+		final PreparedStatementCaching caching = new PreparedStatementCaching( Collections.emptyMap() );
+		assertFalse( caching.isEnabled() );
+
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+		caching.prepareStatement( PreparedStatementCreatorStandardImpl.INSTANCE, "select 1", session ).close();
+
+		assertThat( createdStatements.size(), is( 2 ) );
+		assertTrue( createdStatements.get( 0 ).closed );
+		assertTrue( listeners.isEmpty() );
+	}
+
+	private static class TestStatement {
+		private final PreparedStatement proxy;
+		private boolean closed;
+
+		private TestStatement(String sql) {
+			this.proxy = proxy( PreparedStatement.class, (proxy, method, args) -> {
+				switch ( method.getName() ) {
+					case "close": {
+						closed = true;
+						return null;
+					}
+					case "isClosed": {
+						return closed;
+					}
+					case "executeQuery": {
+						final PreparedStatement statement = (PreparedStatement) proxy;
+						return proxy(
+								ResultSet.class,
+								(resultSet, resultSetMethod, resultSetArgs) -> "getStatement".equals( resultSetMethod.getName() )
+										? statement
+										: defaultValue( resultSetMethod.getReturnType() )
+						);
+					}
+					case "toString": {
+						return sql;
+					}
+					default: {
+						return defaultValue( method.getReturnType() );
+					}
+				}
+			} );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(
+				PreparedStatementCachingTest.class.getClassLoader(),
+				new Class[] { type },
+				(proxy, method, args) -> {
+					// identity semantics
+					if ( "equals".equals( method.getName() ) && method.getParameterCount() == 1 ) {
+						return proxy == args[0];
+					}
+					if ( "hashCode".equals( method.getName() ) && method.getParameterCount() == 0 ) {
+						return System.identityHashCode( proxy );
+					}
+					return handler.invoke( proxy, method, args );
+				}
+		);
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if ( type == int.class ) {
+			return 0;
+		}
+		if ( type == boolean.class ) {
+			return false;
+		}
+		return null;
+	}
+}
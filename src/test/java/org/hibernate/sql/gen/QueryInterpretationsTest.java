@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class QueryInterpretationsTest {
+	@Test
+	public void testHitAndMissCounts() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( 10 );
+		final SelectQueryPlan plan = plan();
+
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( 1 ) ), nullValue() );
+		assertThat( interpretations.getMissCount(), is( 1L ) );
+		assertThat( interpretations.getHitCount(), is( 0L ) );
+
+		interpretations.cacheSelectQueryPlan( new TestKey( 1 ), plan );
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( 1 ) ), sameInstance( plan ) );
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( 1 ) ), sameInstance( plan ) );
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( 2 ) ), nullValue() );
+
+		assertThat( interpretations.getHitCount(), is( 2L ) );
+		assertThat( interpretations.getMissCount(), is( 2L ) );
+		assertThat( interpretations.getEvictionCount(), is( 0L ) );
+		assertThat( interpretations.getSize(), is( 1 ) );
+	}
+
+	@Test
+	public void testEvictionAtMaxSize() {
+		final int maxSize = 3;
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( maxSize );
+
+		final int count = 50;
+		for ( int i = 0; i < count; i++ ) {
+			interpretations.cacheSelectQueryPlan( new TestKey( i ), plan() );
+			assertTrue( interpretations.getSize() <= maxSize );
+		}
+
+		assertTrue( interpretations.getEvictionCount() > 0 );
+		assertThat( interpretations.getEvictionCount(), is( (long) ( count - interpretations.getSize() ) ) );
+
+		// the most recently cached plan is retained
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( count - 1 ) ), notNullValue() );
+	}
+
+	@Test
+	public void testMaxSizeSetting() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl(
+				Collections.singletonMap( AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, "1" )
+		);
+
+		interpretations.cacheSelectQueryPlan( new TestKey( 1 ), plan() );
+		interpretations.cacheSelectQueryPlan( new TestKey( 2 ), plan() );
+
+		assertThat( interpretations.getSize(), is( 1 ) );
+		assertThat( interpretations.getEvictionCount(), is( 1L ) );
+	}
+
+	@Test
+	public void testCleanup() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( 10 );
+		interpretations.cacheSelectQueryPlan( new TestKey( 1 ), plan() );
+
+		interpretations.cleanup();
+
+		assertThat( interpretations.getSize(), is( 0 ) );
+		assertThat( interpretations.getSelectQueryPlan( new TestKey( 1 ) ), nullValue() );
+	}
+
+	private static SelectQueryPlan plan() {
+		return (SelectQueryPlan) Proxy.newProxyInstance(
+				QueryInterpretationsTest.class.getClassLoader(),
+				new Class[] { SelectQueryPlan.class },
+				(proxy, method, args) -> {
+					throw new UnsupportedOperationException();
+				}
+		);
+	}
+
+	private static class TestKey implements QueryInterpretations.Key {
+		private final int value;
+
+		private TestKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof TestKey && ( (TestKey) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value;
+		}
+	}
+}
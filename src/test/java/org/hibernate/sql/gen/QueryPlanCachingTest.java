@@ -0,0 +1,253 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.common.internal.PersisterFactoryImpl;
+import org.hibernate.persister.internal.PersisterFactoryInitiator;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.query.proposed.spi.QueryEngine;
+import org.hibernate.sql.ConsumerContextImpl;
+import org.hibernate.sql.ExecutionContextTestImpl;
+import org.hibernate.sql.QueryProducerTestImpl;
+import org.hibernate.sql.convert.spi.Helper;
+import org.hibernate.sqm.SemanticQueryInterpreter;
+import org.hibernate.sqm.query.SqmStatement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Re-use of the cached query plans (and their rendered SQL) across executions binding
+ * different parameter values, limits and IN-lists
+ *
+ * @author agent
+ */
+public class QueryPlanCachingTest {
+	private SessionFactoryImplementor sessionFactory;
+	private ConsumerContextImpl consumerContext;
+	private QueryEngine queryEngine;
+	private QueryInterpretationsImpl interpretations;
+
+	// the plans are keyed by the SQM, so queries for the same HQL share the SQM
+	private final Map<String,SqmStatement> sqmStatementMap = new HashMap<>();
+
+	@Before
+	public void before() throws Exception {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
+				.build();
+
+		try {
+			MetadataSources metadataSources = new MetadataSources( ssr );
+			metadataSources.addAnnotatedClass( Person.class );
+
+			this.sessionFactory = (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (Exception e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+
+		insertRows();
+
+		consumerContext = new ConsumerContextImpl( sessionFactory );
+		queryEngine = new QueryEngine( sessionFactory );
+		interpretations = (QueryInterpretationsImpl) queryEngine.getQueryInterpretations();
+	}
+
+	private void insertRows() {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( int i = 1; i <= 5; i++ ) {
+			session.persist( new Person( i, "Person " + i, i * 10 ) );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@After
+	public void after() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	@Test
+	public void testPlanIsReusedForDifferentBindValues() {
+		final String hql = "select p.id from Person p where p.age > :age order by p.id";
+
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Integer> first = generateQueryImpl( session, hql, Integer.class );
+					first.setParameter( "age", 30 );
+					assertThat( first.list(), is( Arrays.asList( 4, 5 ) ) );
+
+					final QuerySqmImpl<Integer> second = generateQueryImpl( session, hql, Integer.class );
+					second.setParameter( "age", 10 );
+					assertThat( second.list(), is( Arrays.asList( 2, 3, 4, 5 ) ) );
+
+					assertThat( interpretations.getSize(), is( 1 ) );
+					assertThat( interpretations.getMissCount(), is( 1L ) );
+					assertThat( interpretations.getHitCount(), is( 1L ) );
+				}
+		);
+	}
+
+	@Test
+	public void testPlanIsReusedForDifferentLimits() {
+		final String hql = "select p.id from Person p order by p.id";
+
+		doInSession(
+				session -> {
+					// the limit is bound, not rendered, so each window shares the plan
+					assertThat( window( session, hql, 0, 2 ), is( Arrays.asList( 1, 2 ) ) );
+					assertThat( window( session, hql, 2, 2 ), is( Arrays.asList( 3, 4 ) ) );
+					assertThat( window( session, hql, 1, 3 ), is( Arrays.asList( 2, 3, 4 ) ) );
+
+					assertThat( interpretations.getSize(), is( 1 ) );
+					assertThat( interpretations.getHitCount(), is( 2L ) );
+				}
+		);
+	}
+
+	@Test
+	public void testFirstResultWithoutMaxResults() {
+		final String hql = "select p.id from Person p order by p.id";
+
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Integer> query = generateQueryImpl( session, hql, Integer.class );
+					query.setFirstResult( 3 );
+					assertThat( query.list(), is( Arrays.asList( 4, 5 ) ) );
+
+					final QuerySqmImpl<Integer> beyondLastRow = generateQueryImpl( session, hql, Integer.class );
+					beyondLastRow.setFirstResult( 10 );
+					assertThat( beyondLastRow.list(), is( Collections.emptyList() ) );
+				}
+		);
+	}
+
+	@Test
+	public void testPlanIsReusedForInListsOfSamePaddedSize() {
+		final String hql = "select p.id from Person p where p.id in (:ids) order by p.id";
+
+		doInSession(
+				session -> {
+					assertThat( inList( session, hql, 1, 2, 3 ), is( Arrays.asList( 1, 2, 3 ) ) );
+					assertThat( inList( session, hql, 2, 3, 4, 5 ), is( Arrays.asList( 2, 3, 4, 5 ) ) );
+					assertThat( interpretations.getSize(), is( 1 ) );
+					assertThat( interpretations.getHitCount(), is( 1L ) );
+
+					// 5 values are padded to 8, a different plan
+					assertThat( inList( session, hql, 1, 2, 3, 4, 5 ), is( Arrays.asList( 1, 2, 3, 4, 5 ) ) );
+					assertThat( interpretations.getSize(), is( 2 ) );
+					assertThat( interpretations.getHitCount(), is( 1L ) );
+				}
+		);
+	}
+
+	@Test
+	public void testPaddedValueCount() {
+		final H2Dialect dialect = new H2Dialect();
+		assertThat( Helper.determinePaddedValueCount( 0, dialect ), is( 1 ) );
+		assertThat( Helper.determinePaddedValueCount( 1, dialect ), is( 1 ) );
+		assertThat( Helper.determinePaddedValueCount( 2, dialect ), is( 2 ) );
+		assertThat( Helper.determinePaddedValueCount( 3, dialect ), is( 4 ) );
+		assertThat( Helper.determinePaddedValueCount( 4, dialect ), is( 4 ) );
+		assertThat( Helper.determinePaddedValueCount( 5, dialect ), is( 8 ) );
+		assertThat( Helper.determinePaddedValueCount( 9, dialect ), is( 16 ) );
+	}
+
+	@Test
+	public void testPaddingIsLimitedByDialect() {
+		final H2Dialect dialect = new H2Dialect() {
+			@Override
+			public int getInExpressionCountLimit() {
+				return 10;
+			}
+		};
+		assertThat( Helper.determinePaddedValueCount( 8, dialect ), is( 8 ) );
+		assertThat( Helper.determinePaddedValueCount( 9, dialect ), is( 10 ) );
+		assertThat( Helper.determinePaddedValueCount( 12, dialect ), is( 12 ) );
+	}
+
+	private List<Integer> window(SharedSessionContractImplementor session, String hql, int firstResult, int maxResults) {
+		final QuerySqmImpl<Integer> query = generateQueryImpl( session, hql, Integer.class );
+		query.setFirstResult( firstResult );
+		query.setMaxResults( maxResults );
+		return query.list();
+	}
+
+	private List<Integer> inList(SharedSessionContractImplementor session, String hql, Integer... ids) {
+		final QuerySqmImpl<Integer> query = generateQueryImpl( session, hql, Integer.class );
+		query.setParameterList( "ids", Arrays.asList( ids ) );
+		return query.list();
+	}
+
+	private void doInSession(Consumer<SharedSessionContractImplementor> work) {
+		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) sessionFactory.openSession();
+
+		try {
+			work.accept( session );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> QuerySqmImpl<T> generateQueryImpl(SharedSessionContractImplementor session, String hql, Class<T> resultType) {
+		return new QuerySqmImpl(
+				hql,
+				sqmStatementMap.computeIfAbsent( hql, qryStr -> SemanticQueryInterpreter.interpret( qryStr, consumerContext ) ),
+				resultType,
+				session,
+				new QueryProducerTestImpl( session ),
+				new ExecutionContextTestImpl( session, queryEngine )
+		);
+	}
+
+	@Entity(name="Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name, int age) {
+			this.id = id;
+			this.name = name;
+			this.age = age;
+		}
+	}
+}
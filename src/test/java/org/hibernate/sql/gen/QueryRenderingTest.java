@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.Arrays;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.SecondaryTable;
+import javax.persistence.Table;
+
+import org.hibernate.NullPrecedence;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.SqlTreeWalker;
+import org.hibernate.sql.exec.spi.JdbcSelect;
+import org.hibernate.sqm.query.SqmSelectStatement;
+import org.hibernate.sqm.query.SqmStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The SQL rendered for ORDER BY, IN-lists and entities spanning multiple tables
+ *
+ * @author agent
+ */
+public class QueryRenderingTest extends BaseUnitTest {
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		super.applyMetadataSources( metadataSources );
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testOrderByIsRenderedPerSortSpecification() {
+		final String sql = render( "select p.name from Person p order by p.age desc, p.name" );
+
+		assertThat( sql, containsString( " order by p1.age desc, p1.name asc" ) );
+	}
+
+	@Test
+	public void testNumericOrderByIsSelectedAsSortKey() {
+		final JdbcSelect jdbcSelect = renderWithSortKeys( "select p.name from Person p order by p.age desc" );
+
+		assertThat( jdbcSelect.getSortKeys().size(), is( 1 ) );
+		assertTrue( jdbcSelect.getSortKeys().get( 0 ).isDescending() );
+		// no null precedence is forced, merging follows the database's default
+		assertThat( jdbcSelect.getSortKeys().get( 0 ).getNullPrecedence(), is( NullPrecedence.NONE ) );
+		assertThat( jdbcSelect.getSql(), not( containsString( "nulls" ) ) );
+		// the sort key is not one of the query's returns
+		assertThat( jdbcSelect.getReturns().size(), is( 1 ) );
+	}
+
+	@Test
+	public void testCharacterOrderByIsNotSelectedAsSortKey() {
+		final JdbcSelect jdbcSelect = renderWithSortKeys( "select p.age from Person p order by p.name" );
+
+		assertTrue( jdbcSelect.getSortKeys().isEmpty() );
+	}
+
+	@Test
+	public void testInListIsPadded() {
+		final SqmStatement statement = interpret( "select p.name from Person p where p.id in (:ids)" );
+
+		final JdbcSelect jdbcSelect = render( statement, bindIds( statement, 1, 2, 3 ) );
+
+		// padded up to the next power of two
+		assertThat( countParameters( jdbcSelect.getSql() ), is( 4 ) );
+	}
+
+	@Test
+	public void testJdbcSelectIsCompatibleWithSamePaddedValueCount() {
+		final SqmStatement statement = interpret( "select p.name from Person p where p.id in (:ids)" );
+		final Dialect dialect = getSessionFactory().getJdbcServices().getDialect();
+
+		final JdbcSelect jdbcSelect = render( statement, bindIds( statement, 1, 2, 3 ) );
+
+		assertTrue( jdbcSelect.isCompatibleWith( bindIds( statement, 1, 2, 3 ), dialect ) );
+		assertTrue( jdbcSelect.isCompatibleWith( bindIds( statement, 4, 5, 6, 7 ), dialect ) );
+		assertFalse( jdbcSelect.isCompatibleWith( bindIds( statement, 1, 2 ), dialect ) );
+		assertFalse( jdbcSelect.isCompatibleWith( bindIds( statement, 1, 2, 3, 4, 5 ), dialect ) );
+	}
+
+	@Test
+	public void testUnreferencedSecondaryTableIsNotRendered() {
+		assertThat( render( "select p.name from Person p" ), not( containsString( "person_details" ) ) );
+		assertThat( render( "select p.id from Person p where p.age > 20" ), not( containsString( "person_details" ) ) );
+	}
+
+	@Test
+	public void testReferencedSecondaryTableIsRendered() {
+		assertThat( render( "select p.name, p.nickName from Person p" ), containsString( "person_details" ) );
+		assertThat( render( "select p.name from Person p where p.nickName is not null" ), containsString( "person_details" ) );
+	}
+
+	private String render(String hql) {
+		final SqmStatement statement = interpret( hql );
+		return render( statement, buildQueryParameterBindings( statement ) ).getSql();
+	}
+
+	private JdbcSelect render(SqmStatement statement, QueryParameterBindings parameterBindings) {
+		final SqlTreeWalker sqlTreeWalker = new SqlTreeWalker( getSessionFactory(), parameterBindings );
+		sqlTreeWalker.visitSelectQuery( interpretSelectQuery( (SqmSelectStatement) statement ) );
+		return sqlTreeWalker.toJdbcSelect();
+	}
+
+	private JdbcSelect renderWithSortKeys(String hql) {
+		final SqmStatement statement = interpret( hql );
+		final SqlTreeWalker sqlTreeWalker = new SqlTreeWalker(
+				getSessionFactory(),
+				buildQueryParameterBindings( statement ),
+				false,
+				true
+		);
+		sqlTreeWalker.visitSelectQuery( interpretSelectQuery( (SqmSelectStatement) statement ) );
+		return sqlTreeWalker.toJdbcSelect();
+	}
+
+	private QueryParameterBindings bindIds(SqmStatement statement, Integer... ids) {
+		final QueryParameterBindings parameterBindings = buildQueryParameterBindings( statement );
+		parameterBindings.getBinding( "ids" ).setBindValues( Arrays.asList( (Object[]) ids ) );
+		return parameterBindings;
+	}
+
+	private static int countParameters(String sql) {
+		int count = 0;
+		for ( int i = 0; i < sql.length(); i++ ) {
+			if ( sql.charAt( i ) == '?' ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Entity(name="Person")
+	@Table(name="person")
+	@SecondaryTable(name="person_details")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+		@Column(table="person_details")
+		String nickName;
+	}
+}
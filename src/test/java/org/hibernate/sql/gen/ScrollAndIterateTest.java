@@ -0,0 +1,279 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.gen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.common.internal.PersisterFactoryImpl;
+import org.hibernate.persister.internal.PersisterFactoryInitiator;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.query.proposed.spi.QueryEngine;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.sql.ConsumerContextImpl;
+import org.hibernate.sql.ExecutionContextTestImpl;
+import org.hibernate.sql.QueryProducerTestImpl;
+import org.hibernate.sqm.SemanticQueryInterpreter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Reading results incrementally : {@link org.hibernate.query.proposed.Query#scroll},
+ * {@link org.hibernate.query.proposed.Query#stream} and {@link org.hibernate.query.proposed.Query#iterate}
+ * (which loads the selected entities in batches)
+ *
+ * @author agent
+ */
+public class ScrollAndIterateTest {
+	private static final int BATCH_SIZE = 2;
+
+	private SessionFactoryImplementor sessionFactory;
+	private ConsumerContextImpl consumerContext;
+	private QueryEngine queryEngine;
+
+	@Before
+	public void before() throws Exception {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, BATCH_SIZE )
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
+				.build();
+
+		try {
+			MetadataSources metadataSources = new MetadataSources( ssr );
+			metadataSources.addAnnotatedClass( Person.class );
+
+			this.sessionFactory = (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (Exception e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+
+		insertRows();
+
+		consumerContext = new ConsumerContextImpl( sessionFactory );
+		queryEngine = new QueryEngine( sessionFactory );
+	}
+
+	private void insertRows() {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( int i = 1; i <= 5; i++ ) {
+			session.persist( new Person( i, "Person " + i ) );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@After
+	public void after() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	@Test
+	public void testScroll() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<String> query = generateQueryImpl(
+							session,
+							"select p.name from Person p order by p.id",
+							String.class
+					);
+
+					final List<String> names = new ArrayList<>();
+					final ScrollableResultsImplementor scrollableResults = query.scroll( ScrollMode.FORWARD_ONLY );
+					try {
+						while ( scrollableResults.next() ) {
+							names.add( (String) scrollableResults.get( 0 ) );
+						}
+					}
+					finally {
+						scrollableResults.close();
+					}
+
+					assertThat( names, is( Arrays.asList( "Person 1", "Person 2", "Person 3", "Person 4", "Person 5" ) ) );
+					assertTrue( scrollableResults.isClosed() );
+				}
+		);
+	}
+
+	@Test
+	public void testStream() {
+		doInSession(
+				session -> {
+					try ( Stream<Integer> ids = generateQueryImpl( session, "select p.id from Person p order by p.id", Integer.class ).stream() ) {
+						assertThat( ids.collect( Collectors.toList() ), is( Arrays.asList( 1, 2, 3, 4, 5 ) ) );
+					}
+
+					final QuerySqmImpl<Integer> limited = generateQueryImpl( session, "select p.id from Person p order by p.id", Integer.class );
+					limited.setFirstResult( 1 );
+					limited.setMaxResults( 2 );
+					try ( Stream<Integer> ids = limited.stream() ) {
+						assertThat( ids.collect( Collectors.toList() ), is( Arrays.asList( 2, 3 ) ) );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testPartiallyConsumedStreamIsClosed() {
+		doInSession(
+				session -> {
+					try ( Stream<Integer> ids = generateQueryImpl( session, "select p.id from Person p order by p.id", Integer.class ).stream() ) {
+						assertThat( ids.findFirst().get(), is( 1 ) );
+					}
+
+					// the connection is usable for further queries
+					assertThat( generateQueryImpl( session, "select p.id from Person p", Integer.class ).list().size(), is( 5 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testStreamWithRowRecycling() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Integer> query = generateQueryImpl( session, "select p.id from Person p order by p.id", Integer.class );
+					query.setRowRecyclingEnabled( true );
+					try ( Stream<Integer> ids = query.stream() ) {
+						assertThat( ids.collect( Collectors.toList() ), is( Arrays.asList( 1, 2, 3, 4, 5 ) ) );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testStreamOfRecycledRowsIsRefused() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Object[]> query = generateQueryImpl( session, "select p.id, p.name from Person p", Object[].class );
+					query.setRowRecyclingEnabled( true );
+					try {
+						query.stream();
+						fail( "Expecting stream() to refuse recycled Object[] rows" );
+					}
+					catch (IllegalStateException expected) {
+					}
+
+					// the connection is usable for further queries
+					assertThat( generateQueryImpl( session, "select p.id from Person p", Integer.class ).list().size(), is( 5 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testIterateLoadsEntitiesInBatches() {
+		doInSession(
+				session -> {
+					final Iterator<Person> people = generateQueryImpl(
+							session,
+							"select p from Person p order by p.id",
+							Person.class
+					).iterate();
+
+					assertTrue( people.hasNext() );
+					assertThat( people.next().id, is( 1 ) );
+					// only the entities of the first batch are loaded
+					assertThat( session.getPersistenceContext().getNumberOfManagedEntities(), is( BATCH_SIZE ) );
+
+					final List<Integer> ids = new ArrayList<>();
+					ids.add( 1 );
+					while ( people.hasNext() ) {
+						final Person person = people.next();
+						assertTrue( ( (Session) session ).contains( person ) );
+						ids.add( person.id );
+					}
+
+					assertThat( ids, is( Arrays.asList( 1, 2, 3, 4, 5 ) ) );
+					assertThat( session.getPersistenceContext().getNumberOfManagedEntities(), is( 5 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testIterateScalars() {
+		doInSession(
+				session -> {
+					final Iterator<String> names = generateQueryImpl(
+							session,
+							"select p.name from Person p where p.id > 3 order by p.id",
+							String.class
+					).iterate();
+
+					assertThat( names.next(), is( "Person 4" ) );
+					assertThat( names.next(), is( "Person 5" ) );
+					assertFalse( names.hasNext() );
+					// no entities are selected, so none are loaded
+					assertThat( session.getPersistenceContext().getNumberOfManagedEntities(), is( 0 ) );
+				}
+		);
+	}
+
+	private void doInSession(Consumer<SharedSessionContractImplementor> work) {
+		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) sessionFactory.openSession();
+
+		try {
+			work.accept( session );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> QuerySqmImpl<T> generateQueryImpl(SharedSessionContractImplementor session, String qryStr, Class<T> resultType) {
+		return new QuerySqmImpl(
+				qryStr,
+				SemanticQueryInterpreter.interpret( qryStr, consumerContext ),
+				resultType,
+				session,
+				new QueryProducerTestImpl( session ),
+				new ExecutionContextTestImpl( session, queryEngine )
+		);
+	}
+
+	@Entity(name="Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -11,26 +11,15 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
-import org.hibernate.query.proposed.ParameterMetadata;
-import org.hibernate.query.proposed.QueryParameter;
-import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
-import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
-import org.hibernate.query.proposed.internal.QueryParameterNamedImpl;
-import org.hibernate.query.proposed.internal.QueryParameterPositionalImpl;
-import org.hibernate.sql.QueryParameterBindingTypeResolverImpl;
 import org.hibernate.sql.ast.SelectQuery;
-import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.sql.convert.spi.SelectStatementInterpreter;
 import org.hibernate.sql.convert.spi.SqlTreeWalker;
 import org.hibernate.sqm.query.SqmSelectStatement;
-import org.hibernate.sqm.query.SqmStatement;
 
 import org.junit.Test;
 
@@ -72,42 +61,6 @@ public class SqlTreeWalkerSmokeTest extends BaseUnitTest {
 		assertThat( sqlTreeWalker.getReturns().size(), is(1) );
 	}
 
-	private QueryParameterBindings buildQueryParameterBindings(SqmSelectStatement statement) {
-		return QueryParameterBindingsImpl.from(
-				buildParameterMetadata( statement ),
-				new QueryParameterBindingTypeResolverImpl( getSessionFactory() )
-		);
-	}
-
-
-	private static ParameterMetadataImpl buildParameterMetadata(SqmStatement sqm) {
-		Map<String, QueryParameter> namedQueryParameters = null;
-		Map<Integer, QueryParameter> positionalQueryParameters = null;
-
-		for ( org.hibernate.sqm.query.Parameter parameter : sqm.getQueryParameters() ) {
-			if ( parameter.getName() != null ) {
-				if ( namedQueryParameters == null ) {
-					namedQueryParameters = new HashMap<>();
-				}
-				namedQueryParameters.put(
-						parameter.getName(),
-						QueryParameterNamedImpl.fromSqm( parameter )
-				);
-			}
-			else if ( parameter.getPosition() != null ) {
-				if ( positionalQueryParameters == null ) {
-					positionalQueryParameters = new HashMap<>();
-				}
-				positionalQueryParameters.put(
-						parameter.getPosition(),
-						QueryParameterPositionalImpl.fromSqm( parameter )
-				);
-			}
-		}
-
-		return new ParameterMetadataImpl( namedQueryParameters, positionalQueryParameters );
-	}
-
 	@Test
 	public void testSqlTreeWalking2() {
 		final String qryStr = "select p.name, p2.name from Person p, Person p2";
@@ -17,11 +17,15 @@ import org.hibernate.persister.common.internal.PhysicalTable;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.ast.from.EntityTableGroup;
 import org.hibernate.sql.ast.from.TableBinding;
+import org.hibernate.sql.ast.from.TableGroup;
+import org.hibernate.sql.ast.from.TableJoin;
 import org.hibernate.sql.convert.internal.FromClauseIndex;
 import org.hibernate.sql.convert.internal.SqlAliasBaseManager;
 import org.hibernate.sql.gen.BaseUnitTest;
+import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.SqmSelectStatement;
 
 import org.junit.Test;
@@ -176,6 +180,40 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( secondSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_1" ) );
 	}
 
+	@Test
+	public void testSuperclassTableOfIdSelectionIsInnerJoined() {
+		final TableGroup tableGroup = rootTableGroup( "select b.id from JoinedEntityBranch b" );
+
+		// the (unreferenced) subclass table is left out, but the inner join of the superclass
+		// table restricts the results to JoinedEntityBranch instances
+		assertThat( tableGroup.getRenderedTableJoins().size(), equalTo( 1 ) );
+		final TableJoin tableJoin = tableGroup.getRenderedTableJoins().get( 0 );
+		assertThat( tableJoin.getJoinType(), equalTo( JoinType.INNER ) );
+		assertThat( tableJoin.getJoinedTableBinding().getTable().getTableExpression(), equalTo( "joined_entity_base" ) );
+	}
+
+	@Test
+	public void testSuperclassTableOfCountIsInnerJoined() {
+		final TableGroup tableGroup = rootTableGroup( "select count(l) from JoinedEntityLeaf l" );
+
+		assertThat( tableGroup.getRenderedTableJoins().size(), equalTo( 2 ) );
+		for ( TableJoin tableJoin : tableGroup.getRenderedTableJoins() ) {
+			assertThat( tableJoin.getJoinType(), equalTo( JoinType.INNER ) );
+		}
+	}
+
+	@Test
+	public void testUnreferencedSubclassTablesAreNotRendered() {
+		final TableGroup tableGroup = rootTableGroup( "select b.id from JoinedEntityBase b" );
+
+		assertThat( tableGroup.getTableJoins().size(), equalTo( 2 ) );
+		assertThat( tableGroup.getRenderedTableJoins().size(), equalTo( 0 ) );
+	}
+
+	private TableGroup rootTableGroup(String query) {
+		final SelectQuery selectQuery = interpretSelectQuery( query );
+		return selectQuery.getQuerySpec().getFromClause().getTableSpaces().get( 0 ).getRootTableGroup();
+	}
 
 	@Override
 	protected void applyMetadataSources(MetadataSources metadataSources) {
@@ -27,6 +27,7 @@ import org.hibernate.sql.ast.expression.ColumnBindingExpression;
 import org.hibernate.sql.ast.expression.Expression;
 import org.hibernate.sql.ast.from.AbstractTableGroup;
 import org.hibernate.sql.ast.from.CollectionTableGroup;
+import org.hibernate.sql.ast.from.ColumnBinding;
 import org.hibernate.sql.ast.from.EntityTableGroup;
 import org.hibernate.sql.ast.from.TableBinding;
 import org.hibernate.sql.ast.from.TableGroup;
@@ -348,6 +349,40 @@ public class TableSpaceGenerationTest extends BaseUnitTest {
 		);
 	}
 
+	@Test
+	public void testForeignKeyOnlyLeftJoinIsEliminated() {
+		final SelectQuery selectQuery = interpretSelectQuery( "select r.id from Person p left join p.nextRole r" );
+
+		// the identifier of the joined Role is resolved against the foreign key
+		final Expression selectExpression = selectQuery.getQuerySpec().getSelectClause().getSelections().get( 0 ).getSelectExpression();
+		assertThat( selectExpression, instanceOf( AttributeReference.class ) );
+		final ColumnBinding[] columnBindings = ( (AttributeReference) selectExpression ).getColumnBindings();
+		assertThat( columnBindings.length, is( 1 ) );
+		assertThat( columnBindings[0].getIdentificationVariable(), is( "p1" ) );
+		assertThat( ( (PhysicalColumn) columnBindings[0].getColumn() ).getName(), is( "nextRole_id" ) );
+
+		// so the join is not rendered
+		final TableSpace tableSpace = selectQuery.getQuerySpec().getFromClause().getTableSpaces().get( 0 );
+		assertThat( tableSpace.getJoinedTableGroups().size(), is( 0 ) );
+	}
+
+	@Test
+	public void testReferencedLeftJoinIsRendered() {
+		final TableSpace tableSpace = getTableSpace( "select r from Person p left join p.nextRole r" );
+
+		assertThat( tableSpace.getJoinedTableGroups().size(), is( 1 ) );
+		checkTableGroupJoin( tableSpace.getJoinedTableGroups().get( 0 ), JoinType.LEFT, EntityTableGroup.class, "ROLE", "r1" );
+	}
+
+	@Test
+	public void testForeignKeyOnlyInnerJoinIsRendered() {
+		// an inner join restricts the results to Persons having a Role
+		final TableSpace tableSpace = getTableSpace( "select r.id from Person p join p.nextRole r" );
+
+		assertThat( tableSpace.getJoinedTableGroups().size(), is( 1 ) );
+		checkTableGroupJoin( tableSpace.getJoinedTableGroups().get( 0 ), JoinType.INNER, EntityTableGroup.class, "ROLE", "r1" );
+	}
+
 	@Override
 	protected void applyMetadataSources(MetadataSources metadataSources) {
 		metadataSources.addAnnotatedClass( Person.class );